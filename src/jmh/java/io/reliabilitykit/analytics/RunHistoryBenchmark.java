@@ -0,0 +1,85 @@
+package io.reliabilitykit.analytics;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.cli.RunIndex;
+import io.reliabilitykit.reporting.RunResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential full-RunResult binding (the pre-index loadAll path) vs the parallel,
+ * logs-skipping HistoryLoader over the same synthetic history, plus loadAll itself with a
+ * cold (rebuilt) and warm (up to date) stats index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RunHistoryBenchmark {
+
+    @Param({"10000"})
+    int runs;
+
+    @Param({"20"})
+    int testsPerRun;
+
+    @Param({"100"})
+    int logsPerRun;
+
+    private Path root;
+    private List<Path> files;
+
+    @State(Scope.Benchmark)
+    public static class ColdIndex {
+        @Setup(Level.Invocation)
+        public void dropIndex() throws Exception {
+            Files.deleteIfExists(RunIndex.resultsRoot().resolve(StatsIndex.DIR_NAME).resolve(StatsIndex.FILE_NAME));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-history-bench");
+        System.setProperty("rk.resultsDir", root.toString());
+        files = SyntheticRuns.writeRuns(root, runs, testsPerRun, logsPerRun);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public Map<String, TestStats> sequentialFullBind() throws Exception {
+        Map<String, TestStats> perTest = new LinkedHashMap<>();
+        FailureStats failureStats = new FailureStats();
+        for (Path json : files) {
+            RunResult run = RunIndex.readRun(json);
+            RunHistory.fold(run.tests(), perTest, failureStats);
+        }
+        return perTest;
+    }
+
+    @Benchmark
+    public Map<String, TestStats> parallelStreaming() throws Exception {
+        return HistoryLoader.load(files).perTest;
+    }
+
+    @Benchmark
+    public RunHistory loadAllCold(ColdIndex cold) throws Exception {
+        return RunHistory.loadAll();
+    }
+
+    @Benchmark
+    public RunHistory loadAllWarm() throws Exception {
+        return RunHistory.loadAll();
+    }
+}
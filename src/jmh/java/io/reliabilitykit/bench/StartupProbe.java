@@ -0,0 +1,14 @@
+package io.reliabilitykit.bench;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Empty test for {@code LauncherStartupBenchmark}: what a run costs before any real test starts.
+ * The name is outside Surefire's include patterns, so it only runs when selected explicitly.
+ */
+public class StartupProbe {
+
+    @Test
+    void noop() {
+    }
+}
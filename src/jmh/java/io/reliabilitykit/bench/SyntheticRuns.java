@@ -0,0 +1,116 @@
+package io.reliabilitykit.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.reliabilitykit.reporting.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic fake runs shaped like real ones: a handful of test classes, ~10% failures
+ * with Playwright-style error messages, and logs spread across all scopes.
+ */
+public final class SyntheticRuns {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String[] SCOPES = {"RUN", "TEST", "TRACE", "ARTIFACT", "BROWSER"};
+    private static final String[] FAILURE_TYPES = {
+            "ASSERTION_FAILED", "TIMEOUT", "ELEMENT_NOT_FOUND", "NAVIGATION_ERROR", "NETWORK_ERROR"
+    };
+
+    private SyntheticRuns() {}
+
+    public static RunResult run(String runId, int tests, int logs, long seed) {
+        Random rnd = new Random(seed);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z").plusSeconds(seed * 60);
+
+        List<TestResult> testResults = new ArrayList<>(tests);
+        for (int i = 0; i < tests; i++) {
+            String testId = testId(i);
+            boolean fail = rnd.nextInt(10) == 0;
+            String type = fail ? FAILURE_TYPES[rnd.nextInt(FAILURE_TYPES.length)] : null;
+            testResults.add(new TestResult(
+                    testId,
+                    fail ? "FAILED" : "PASSED",
+                    200 + rnd.nextInt(8000),
+                    rnd.nextInt(300),
+                    fail ? errorMessage(rnd) : null,
+                    type,
+                    fail ? "Synthetic hint for " + type : null,
+                    fail ? new ArtifactPaths("artifacts/" + i + "/screenshot.png", "artifacts/" + i + "/trace.zip") : null,
+                    null
+            ));
+        }
+
+        List<RunLog> runLogs = new ArrayList<>(logs);
+        for (int i = 0; i < logs; i++) {
+            String scope = SCOPES[rnd.nextInt(SCOPES.length)];
+            runLogs.add(new RunLog(
+                    start.plusMillis(i * 7L).toString(),
+                    LogLevel.values()[rnd.nextInt(LogLevel.values().length)],
+                    scope,
+                    "Synthetic " + scope.toLowerCase() + " event " + i + " durationMs=" + rnd.nextInt(5000),
+                    "RUN".equals(scope) ? null : testId(rnd.nextInt(Math.max(1, tests))),
+                    null
+            ));
+        }
+
+        return new RunResult(
+                runId,
+                start.toString(),
+                start.plusMillis(logs * 7L + 1).toString(),
+                logs * 7L + 1,
+                new RunMeta("https://example.com", "CHROMIUM", true, 0, 30000),
+                Summary.of(testResults),
+                testResults,
+                runLogs
+        );
+    }
+
+    /** Write {@code count} results/&lt;runId&gt;/results.json files under {@code root}. */
+    public static List<Path> writeRuns(Path root, int count, int tests, int logs) throws IOException {
+        List<Path> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String runId = String.format("20260101_%06d", i);
+            Path dir = Files.createDirectories(root.resolve(runId));
+            Path json = dir.resolve("results.json");
+            MAPPER.writeValue(json.toFile(), run(runId, tests, logs, i));
+            files.add(json);
+        }
+        return files;
+    }
+
+    public static void deleteTree(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (Stream<Path> walk = Files.walk(root)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static String testId(int i) {
+        return "io.reliabilitykit.synthetic.Suite" + (i % 25) + "Test#case" + i;
+    }
+
+    private static String errorMessage(Random rnd) {
+        return switch (rnd.nextInt(4)) {
+            case 0 -> "org.opentest4j.AssertionFailedError: expected: <Products> but was: <Login>";
+            case 1 -> "com.microsoft.playwright.TimeoutError: Error {\n  message='Timeout 30000ms exceeded.\n"
+                    + "=========================== logs ===========================\n"
+                    + "waiting for locator(\"#checkout\")\n".repeat(20) + "'\n}";
+            case 2 -> "com.microsoft.playwright.PlaywrightException: net::ERR_CONNECTION_REFUSED at https://example.com/";
+            default -> "java.lang.IllegalStateException: unexpected page state";
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package io.reliabilitykit.classification;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Classification cost per failure, from short assertion errors to Playwright call logs. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FailureClassifierBenchmark {
+
+    @Param({"assertion", "timeout", "unknown"})
+    String kind;
+
+    @Param({"100", "10000", "1000000"})
+    int callLogChars;
+
+    private Throwable error;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder callLog = new StringBuilder();
+        while (callLog.length() < callLogChars) {
+            callLog.append("  - waiting for locator(\"[data-test='checkout']\") to be visible\n");
+        }
+
+        error = switch (kind) {
+            case "assertion" -> new AssertionError("expected: <Products> but was: <Login>\n" + callLog);
+            case "timeout" -> new RuntimeException("Timeout 30000ms exceeded.\n" + callLog);
+            default -> new IllegalStateException("page crashed\n" + callLog);
+        };
+    }
+
+    @Benchmark
+    public FailureInfo classify() {
+        return FailureClassifier.classify(error);
+    }
+}
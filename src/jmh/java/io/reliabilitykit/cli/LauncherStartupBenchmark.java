@@ -0,0 +1,57 @@
+package io.reliabilitykit.cli;
+
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting one trivial test executed from an already running CLI: forking Maven
+ * (startup, dependency resolution, Surefire fork) versus the in-JVM launcher on a fresh class
+ * loader. The Maven path calls surefire:test directly so it cannot recompile the classes this
+ * benchmark runs from; a real 'rk run' also pays the compile phase up-to-date checks.
+ *
+ * Run from the project root: mvn -Pbench test-compile exec:exec -Djmh.args="LauncherStartupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class LauncherStartupBenchmark {
+
+    private static final String PROBE = "io.reliabilitykit.bench.StartupProbe";
+
+    private List<Path> classpath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        classpath = InJvmRunner.testClasspath();
+    }
+
+    @Benchmark
+    public int mavenFork() throws Exception {
+        Process p = new ProcessBuilder("mvn", "-q", "-Pbench", "surefire:test",
+                "-Dtest=" + PROBE, "-Dsurefire.failIfNoSpecifiedTests=false")
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exit = p.waitFor();
+        if (exit != 0) throw new IllegalStateException("mvn exited with " + exit);
+        return exit;
+    }
+
+    @Benchmark
+    public long inJvm() throws Exception {
+        InJvmRunner.Request request = new InJvmRunner.Request("", "", List.of(PROBE), 1, Map.of());
+        TestExecutionSummary summary = InJvmRunner.launch(classpath, request, System.nanoTime());
+        if (summary.getTestsSucceededCount() != 1) throw new IllegalStateException("Probe did not run");
+        return summary.getTestsSucceededCount();
+    }
+}
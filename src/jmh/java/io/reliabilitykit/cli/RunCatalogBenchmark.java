@@ -0,0 +1,80 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.reporting.RunCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing runs and finding the latest one from the catalog, against the directory scan sorted
+ * by mtime that RunIndex used before (one stat per comparison).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RunCatalogBenchmark {
+
+    @Param({"1000", "50000"})
+    int runs;
+
+    private Path root;
+    private String previousResultsDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-catalog-bench");
+        previousResultsDir = System.setProperty("rk.resultsDir", root.toString());
+
+        SyntheticRuns.writeRuns(root, 1, 5, 10);
+        var sample = RunIndex.readRun(root.resolve("20260101_000000").resolve("results.json"));
+        List<RunCatalog.Entry> entries = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            String runId = String.format("20260101_%06d", i);
+            Files.createDirectories(root.resolve(runId));
+            entries.add(new RunCatalog.Entry(runId, sample.startedAtIso(), sample.finishedAtIso(), sample.durationMs(),
+                    sample.meta(), sample.summary(), "results.json", false));
+        }
+        RunCatalog.append(root, entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (previousResultsDir == null) System.clearProperty("rk.resultsDir");
+        else System.setProperty("rk.resultsDir", previousResultsDir);
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public Object latestRunDir() throws Exception {
+        return RunIndex.latestRunDir();
+    }
+
+    @Benchmark
+    public List<RunCatalog.Entry> listRuns() throws Exception {
+        return RunIndex.listRuns();
+    }
+
+    @Benchmark
+    public List<Path> scanByMtime() throws Exception {
+        try (var stream = Files.list(root)) {
+            return stream
+                    .filter(Files::isDirectory)
+                    .sorted((a, b) -> {
+                        try {
+                            return Files.getLastModifiedTime(b).compareTo(Files.getLastModifiedTime(a));
+                        } catch (Exception e) {
+                            return 0;
+                        }
+                    })
+                    .toList();
+        }
+    }
+}
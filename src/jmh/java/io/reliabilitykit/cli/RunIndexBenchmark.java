@@ -0,0 +1,44 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.reporting.RunResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/** Full results.json parse, as done by list-runs and logs. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RunIndexBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int tests;
+
+    @Param({"1000", "1000000"})
+    int logs;
+
+    private Path root;
+    private Path json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-runindex-bench");
+        json = SyntheticRuns.writeRuns(root, 1, tests, logs).get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public RunResult readRun() throws Exception {
+        return RunIndex.readRun(json);
+    }
+}
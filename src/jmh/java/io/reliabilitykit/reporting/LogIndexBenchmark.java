@@ -0,0 +1,95 @@
+package io.reliabilitykit.reporting;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.cli.RunIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rk logs queries through logs.rki against loading the run and filtering every log, plus the
+ * cost of building the index by reading a results file back (runs finalized without one).
+ * Index size is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class LogIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    int logs;
+
+    @Param({"results.json", RunArchive.FILE_NAME})
+    String format;
+
+    private Path root;
+    private Path results;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-logindex-bench");
+        Path json = SyntheticRuns.writeRuns(root, 1, 1000, logs).get(0);
+        results = json;
+        if (format.equals(RunArchive.FILE_NAME)) {
+            results = json.resolveSibling(RunArchive.FILE_NAME);
+            RunArchive.write(RunIndex.readRun(json), results);
+            Files.delete(json);
+        }
+        LogIndex.write(results);
+        System.out.printf("%nlogs=%d %s: %d bytes, %s: %d bytes%n", logs, format, Files.size(results),
+                LogIndex.FILE_NAME, Files.size(results.resolveSibling(LogIndex.FILE_NAME)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public void buildIndex() throws Exception {
+        LogIndex.write(results);
+    }
+
+    @Benchmark
+    public int fullScanContains() throws Exception {
+        int matches = 0;
+        for (RunLog log : RunIndex.readRun(results).logs()) {
+            if (log.message() != null && log.message().toLowerCase(Locale.ROOT).contains("event 77")) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int indexedContains() throws Exception {
+        try (LogIndex index = LogIndex.open(results)) {
+            BitSet candidates = index.candidates(LogLevel.DEBUG, null, null, "event 77");
+            int matches = 0;
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (index.read(i).message().toLowerCase(Locale.ROOT).contains("event 77")) matches++;
+            }
+            return matches;
+        }
+    }
+
+    @Benchmark
+    public List<RunLog> indexedTailErrors() throws Exception {
+        try (LogIndex index = LogIndex.open(results)) {
+            BitSet candidates = index.candidates(LogLevel.ERROR, null, null, null);
+            List<RunLog> last = new ArrayList<>();
+            for (int i = candidates.previousSetBit(index.size() - 1); i >= 0 && last.size() < 50;
+                 i = candidates.previousSetBit(i - 1)) {
+                last.add(index.read(i));
+            }
+            return last;
+        }
+    }
+}
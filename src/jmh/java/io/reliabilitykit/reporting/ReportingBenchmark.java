@@ -0,0 +1,62 @@
+package io.reliabilitykit.reporting;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** results.json + report.html writing, and HTML rendering on its own in both report modes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ReportingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int tests;
+
+    @Param({"1000", "1000000"})
+    int logs;
+
+    private Path root;
+    private RunResult run;
+    private RunResult runWithoutLogs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-reporting-bench");
+        System.setProperty("rk.resultsDir", root.toString());
+        run = SyntheticRuns.run("20260101_000000", tests, logs, 42);
+        runWithoutLogs = new RunResult(run.runId(), run.startedAtIso(), run.finishedAtIso(), run.durationMs(),
+                run.meta(), run.summary(), run.tests(), List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public void resultsWriterWrite() throws Exception {
+        ResultsWriter.write(run);
+    }
+
+    @Benchmark
+    public void renderHtml() throws Exception {
+        // The report never reads logs; keep the param from multiplying identical work
+        HtmlReportWriter.render(runWithoutLogs, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void renderHtmlPaged() throws Exception {
+        try (ReportPages pages = ReportPages.open(root.resolve("paged"), 500)) {
+            HtmlReportWriter.renderPaged(runWithoutLogs, pages, Writer.nullWriter());
+        }
+    }
+}
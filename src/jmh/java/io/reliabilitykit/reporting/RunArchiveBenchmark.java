@@ -0,0 +1,86 @@
+package io.reliabilitykit.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.cli.RunIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * results.json vs results.rkb: full reads (list-runs, logs), tests-only reads (history) and
+ * writes. File sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RunArchiveBenchmark {
+
+    // Same settings as ResultsWriter
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    @Param({"10", "1000", "100000"})
+    int tests;
+
+    @Param({"1000", "1000000"})
+    int logs;
+
+    private Path root;
+    private RunResult run;
+    private Path json;
+    private Path archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-archive-bench");
+        run = SyntheticRuns.run("20260101_000000", tests, logs, 42);
+        json = root.resolve("results.json");
+        archive = root.resolve(RunArchive.FILE_NAME);
+        MAPPER.writeValue(json.toFile(), run);
+        RunArchive.write(run, archive);
+
+        long jsonBytes = Files.size(json);
+        long archiveBytes = Files.size(archive);
+        System.out.printf("%nSize tests=%d logs=%d: results.json=%d bytes, results.rkb=%d bytes (%.1f%%)%n",
+                tests, logs, jsonBytes, archiveBytes, archiveBytes * 100.0 / jsonBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    public RunResult readJson() throws Exception {
+        return RunIndex.readRun(json);
+    }
+
+    @Benchmark
+    public RunResult readArchive() throws Exception {
+        return RunIndex.readRun(archive);
+    }
+
+    @Benchmark
+    public List<TestResult> readArchiveTestsOnly() throws Exception {
+        return RunArchive.readTests(archive);
+    }
+
+    @Benchmark
+    public void writeJson() throws Exception {
+        MAPPER.writeValue(root.resolve("write.json").toFile(), run);
+    }
+
+    @Benchmark
+    public void writeArchive() throws Exception {
+        RunArchive.write(run, root.resolve("write.rkb"));
+    }
+}
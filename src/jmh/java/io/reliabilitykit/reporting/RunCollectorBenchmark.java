@@ -0,0 +1,68 @@
+package io.reliabilitykit.reporting;
+
+import io.reliabilitykit.bench.SyntheticRuns;
+import io.reliabilitykit.framework.ToolkitConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging throughput with many producer threads hitting the singleton collector at once,
+ * as parallel workers do. The journal flusher runs as in a real run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RunCollectorBenchmark {
+
+    private Path root;
+    private RunCollector collector;
+
+    @State(Scope.Thread)
+    public static class Producer {
+        String testId;
+        int n;
+
+        @Setup
+        public void setUp() {
+            testId = "io.reliabilitykit.synthetic.Suite#" + Thread.currentThread().getName();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("rk-collector-bench");
+        System.setProperty("rk.resultsDir", root.toString());
+        collector = RunCollector.get(ToolkitConfig.load());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.println();
+        System.out.println("Collector stats: " + collector.stats());
+        SyntheticRuns.deleteTree(root);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void logUncontended(Producer p) {
+        collector.test(LogLevel.INFO, p.testId, "Synthetic event " + p.n++);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void log8Threads(Producer p) {
+        collector.test(LogLevel.INFO, p.testId, "Synthetic event " + p.n++);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void log32Threads(Producer p) {
+        collector.test(LogLevel.INFO, p.testId, "Synthetic event " + p.n++);
+    }
+}
@@ -7,11 +7,19 @@ public class FailureStats {
     private final Map<String, Integer> counts = new LinkedHashMap<>();
 
     public void add(String failureType) {
+        add(failureType, 1);
+    }
+
+    public void add(String failureType, int count) {
         String key = (failureType == null || failureType.isBlank()) ? "UNKNOWN" : failureType;
-        counts.put(key, counts.getOrDefault(key, 0) + 1);
+        counts.put(key, counts.getOrDefault(key, 0) + count);
+    }
+
+    public void merge(FailureStats other) {
+        other.counts.forEach(this::add);
     }
 
     public Map<String, Integer> counts() {
         return counts;
     }
-}
\ No newline at end of file
+}
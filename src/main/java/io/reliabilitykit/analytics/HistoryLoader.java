@@ -0,0 +1,98 @@
+package io.reliabilitykit.analytics;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reliabilitykit.reporting.RunArchive;
+import io.reliabilitykit.reporting.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads test outcomes from many results.json files at once.
+ *
+ * Each file is read with a streaming parser that binds only the {@code tests} array and
+ * skips {@code logs} (usually most of the bytes) token by token. Files are fanned out over a
+ * ForkJoin pool; every worker folds into its own partial and partials are merged in file order.
+ */
+final class HistoryLoader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /** Per-worker aggregate; merged left-to-right so insertion order follows the input list. */
+    static final class Partial {
+        final Map<String, TestStats> perTest = new LinkedHashMap<>();
+        final FailureStats failureStats = new FailureStats();
+        final Map<Path, Boolean> loaded = new LinkedHashMap<>();
+
+        void accept(Path json) {
+            List<TestResult> tests;
+            try {
+                tests = readTests(json);
+            } catch (Exception e) {
+                // Skip malformed/old runs rather than failing the whole command
+                loaded.put(json, false);
+                return;
+            }
+            RunHistory.fold(tests, perTest, failureStats);
+            loaded.put(json, true);
+        }
+
+        void combine(Partial other) {
+            RunHistory.merge(perTest, other.perTest);
+            failureStats.merge(other.failureStats);
+            loaded.putAll(other.loaded);
+        }
+    }
+
+    private HistoryLoader() {}
+
+    static Partial load(List<Path> jsonFiles) throws Exception {
+        if (jsonFiles.size() < 2) {
+            Partial p = new Partial();
+            jsonFiles.forEach(p::accept);
+            return p;
+        }
+
+        // Parsing is a mix of I/O and CPU; a private pool keeps the common pool free
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            return pool.submit(() -> jsonFiles.parallelStream()
+                    .collect(Partial::new, Partial::accept, Partial::combine)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Bind only {@code tests}; every other top-level field (notably {@code logs}) is skipped unparsed. */
+    static List<TestResult> readTests(Path json) throws IOException {
+        if (json.getFileName().toString().equals(RunArchive.FILE_NAME)) return RunArchive.readTests(json);
+
+        List<TestResult> tests = new ArrayList<>();
+        try (JsonParser p = MAPPER.getFactory().createParser(json.toFile())) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a results.json object: " + json);
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("tests".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        tests.add(MAPPER.readValue(p, TestResult.class));
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return tests;
+    }
+}
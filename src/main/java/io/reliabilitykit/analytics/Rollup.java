@@ -0,0 +1,108 @@
+package io.reliabilitykit.analytics;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reliabilitykit.reporting.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Test outcomes of runs removed by {@code rk gc}, one file per month under results/.rollup/.
+ *
+ * Each file holds the same folded per-test stats and failure counts as {@link StatsIndex},
+ * plus the ids of the runs folded in, so {@link RunHistory#loadAll()} keeps counting runs whose
+ * results file is gone and never counts one twice.
+ */
+public final class Rollup {
+
+    public static final String DIR_NAME = ".rollup";
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    record Snapshot(int version,
+                    List<String> runs,
+                    Map<String, TestStats> perTest,
+                    Map<String, Integer> failureCounts) {}
+
+    /** Every rollup folded together, oldest month first. */
+    record Loaded(Set<String> runs, Map<String, TestStats> perTest, FailureStats failureStats) {}
+
+    private Rollup() {}
+
+    /**
+     * Fold runs into {@code month}'s rollup (e.g. {@code 2026-01}). Runs already in it are skipped,
+     * so an interrupted gc can simply run again.
+     *
+     * @param runs runId -> results.json / results.rkb
+     * @return the runs actually folded in
+     */
+    public static List<String> add(Path resultsRoot, String month, Map<String, Path> runs) throws Exception {
+        Path file = resultsRoot.resolve(DIR_NAME).resolve(month + ".json");
+        Snapshot s = read(file);
+
+        Set<String> done = new LinkedHashSet<>(s.runs());
+        Map<String, TestStats> perTest = new LinkedHashMap<>(s.perTest());
+        FailureStats failureStats = new FailureStats();
+        s.failureCounts().forEach(failureStats::add);
+
+        List<String> added = new ArrayList<>();
+        for (var e : runs.entrySet()) {
+            if (done.contains(e.getKey())) continue;
+            RunHistory.fold(HistoryLoader.readTests(e.getValue()), perTest, failureStats);
+            done.add(e.getKey());
+            added.add(e.getKey());
+        }
+        if (added.isEmpty()) return added;
+
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), new Snapshot(VERSION, List.copyOf(done), perTest, failureStats.counts()));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return added;
+    }
+
+    static Loaded load(Path resultsRoot) throws IOException {
+        Set<String> runs = new LinkedHashSet<>();
+        Map<String, TestStats> perTest = new LinkedHashMap<>();
+        FailureStats failureStats = new FailureStats();
+
+        Path dir = resultsRoot.resolve(DIR_NAME);
+        if (!Files.isDirectory(dir)) return new Loaded(runs, perTest, failureStats);
+
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".json")).sorted().toList();
+        }
+        for (Path file : files) {
+            Snapshot s = read(file);
+            runs.addAll(s.runs());
+            RunHistory.merge(perTest, s.perTest());
+            s.failureCounts().forEach(failureStats::add);
+        }
+        return new Loaded(runs, perTest, failureStats);
+    }
+
+    private static Snapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) return new Snapshot(VERSION, List.of(), Map.of(), Map.of());
+        Snapshot s = MAPPER.readValue(file.toFile(), Snapshot.class);
+        // Unlike the stats index a rollup can't be rebuilt, so refuse rather than overwrite it
+        if (s.version() != VERSION) throw new IOException("Unsupported rollup version " + s.version() + " in " + file);
+        return new Snapshot(s.version(),
+                Objects.requireNonNullElse(s.runs(), List.of()),
+                Objects.requireNonNullElse(s.perTest(), Map.of()),
+                Objects.requireNonNullElse(s.failureCounts(), Map.of()));
+    }
+}
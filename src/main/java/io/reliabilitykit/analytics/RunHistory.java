@@ -1,7 +1,6 @@
 package io.reliabilitykit.analytics;
 
 import io.reliabilitykit.cli.RunIndex;
-import io.reliabilitykit.reporting.RunResult;
 import io.reliabilitykit.reporting.TestResult;
 
 import java.nio.file.Path;
@@ -9,62 +8,85 @@ import java.util.*;
 
 public class RunHistory {
 
-    public final List<RunResult> runs;
+    public final List<String> runIds;
     public final Map<String, TestStats> perTest;
     public final FailureStats failureStats;
 
-    private RunHistory(List<RunResult> runs,
+    private RunHistory(List<String> runIds,
                        Map<String, TestStats> perTest,
                        FailureStats failureStats) {
-        this.runs = runs;
+        this.runIds = runIds;
         this.perTest = perTest;
         this.failureStats = failureStats;
     }
 
+    /**
+     * Aggregate every finalized run under ./results, plus the {@link Rollup}s of runs removed by
+     * {@code rk gc}. Backed by {@link StatsIndex}, so only runs added since the previous call are parsed.
+     */
     public static RunHistory loadAll() throws Exception {
+        Rollup.Loaded rolled = Rollup.load(RunIndex.resultsRoot());
         List<Path> jsonFiles = RunIndex.listResultsJsonFiles();
+        if (!rolled.runs().isEmpty()) {
+            // A gc interrupted between writing the rollup and deleting the run must not count it twice
+            jsonFiles = jsonFiles.stream()
+                    .filter(f -> !rolled.runs().contains(f.getParent().getFileName().toString()))
+                    .toList();
+        }
 
-        List<RunResult> loadedRuns = new ArrayList<>();
-        Map<String, TestStats> perTest = new LinkedHashMap<>();
-        FailureStats failureStats = new FailureStats();
-
-        for (Path json : jsonFiles) {
-            RunResult run;
-            try {
-                run = RunIndex.readRun(json);
-            } catch (Exception e) {
-                // Skip malformed/old runs rather than failing the whole command
-                continue;
-            }
+        StatsIndex index = StatsIndex.update(jsonFiles);
+        if (rolled.runs().isEmpty()) {
+            return new RunHistory(index.loadedRunIds(jsonFiles), index.perTest(), index.failureStats());
+        }
 
-            loadedRuns.add(run);
+        // Rolled-up runs are older; the rollup maps are our own copies, so the index is left untouched
+        Map<String, TestStats> perTest = rolled.perTest();
+        merge(perTest, index.perTest());
+        FailureStats failureStats = rolled.failureStats();
+        failureStats.merge(index.failureStats());
+        List<String> runIds = new ArrayList<>(rolled.runs());
+        runIds.addAll(index.loadedRunIds(jsonFiles));
+        return new RunHistory(runIds, perTest, failureStats);
+    }
+
+    static void fold(List<TestResult> tests, Map<String, TestStats> perTest, FailureStats failureStats) {
+        if (tests == null) return;
 
-            if (run.tests() == null) continue;
+        for (TestResult t : tests) {
+            if (t == null) continue;
 
-            for (TestResult t : run.tests()) {
-                if (t == null) continue;
+            String testId = t.testId();
+            if (testId == null || testId.isBlank()) continue;
 
-                String testId = t.testId();
-                if (testId == null || testId.isBlank()) continue;
+            // Never ran: says nothing about the test itself
+            if ("BLOCKED".equalsIgnoreCase(t.status())) continue;
 
-                TestStats stats = perTest.computeIfAbsent(testId, TestStats::new);
-                stats.totalRuns++;
+            TestStats stats = perTest.computeIfAbsent(testId, TestStats::new);
+            stats.totalRuns++;
 
-                String status = t.status();
-                long duration = t.durationMs();
-                stats.addDuration(duration);
+            String status = t.status();
+            long duration = t.durationMs();
+            stats.addDuration(duration);
 
-                if ("PASSED".equalsIgnoreCase(status)) {
-                    stats.passed++;
-                } else {
-                    stats.failed++;
-                    stats.addFailureType(t.failureType());
-                    failureStats.add(t.failureType());
-                }
+            if ("PASSED".equalsIgnoreCase(status)) {
+                stats.passed++;
+            } else if ("FLAKY".equalsIgnoreCase(status)) {
+                stats.passed++;
+                stats.flakyRuns++;
+            } else {
+                stats.failed++;
+                stats.addFailureType(t.failureType());
+                failureStats.add(t.failureType());
             }
         }
+    }
 
-        return new RunHistory(loadedRuns, perTest, failureStats);
+    static void merge(Map<String, TestStats> into, Map<String, TestStats> from) {
+        from.forEach((id, stats) -> {
+            TestStats mine = into.get(id);
+            if (mine == null) into.put(id, stats);
+            else mine.merge(stats);
+        });
     }
 
     public int totalTestsExecuted() {
@@ -72,4 +94,4 @@ public class RunHistory {
         for (TestStats s : perTest.values()) sum += s.totalRuns;
         return sum;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package io.reliabilitykit.analytics;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reliabilitykit.cli.RunIndex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * On-disk aggregate of run history under results/.index/stats-index.json. It lives in a dot-directory
+ * because rewriting it in the results root would bump the root's mtime, which RunIndex takes as
+ * a sign that runs were added or removed outside rk.
+ *
+ * Holds the folded per-test stats and failure counts plus a watermark (mtime + size of
+ * results.json) for every run already folded in. New runs are folded incrementally; if an
+ * indexed run changed or disappeared the partials can't be un-folded, so the index is rebuilt.
+ */
+final class StatsIndex {
+
+    static final String DIR_NAME = ".index";
+    static final String FILE_NAME = "stats-index.json";
+    private static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    record RunMark(long lastModifiedMs, long size, boolean loaded) {
+        boolean sameFile(RunMark other) {
+            return other != null && lastModifiedMs == other.lastModifiedMs && size == other.size;
+        }
+    }
+
+    record Snapshot(int version,
+                    Map<String, RunMark> runs,
+                    Map<String, TestStats> perTest,
+                    Map<String, Integer> failureCounts) {}
+
+    private final Path file;
+    private final Map<String, RunMark> runs;
+    private final Map<String, TestStats> perTest;
+    private final FailureStats failureStats;
+
+    private StatsIndex(Path file, Map<String, RunMark> runs, Map<String, TestStats> perTest, FailureStats failureStats) {
+        this.file = file;
+        this.runs = runs;
+        this.perTest = perTest;
+        this.failureStats = failureStats;
+    }
+
+    /** Bring the index in line with {@code jsonFiles}, parsing only runs that are new since the last update. */
+    static StatsIndex update(List<Path> jsonFiles) throws Exception {
+        Path root = RunIndex.resultsRoot();
+        // Written straight into the results root by earlier versions
+        Files.deleteIfExists(root.resolve(FILE_NAME));
+        Path file = root.resolve(DIR_NAME).resolve(FILE_NAME);
+        StatsIndex index = load(file);
+
+        Map<String, RunMark> current = new LinkedHashMap<>();
+        Map<String, Path> byRunId = new LinkedHashMap<>();
+        for (Path json : jsonFiles) {
+            String runId = json.getParent().getFileName().toString();
+            current.put(runId, new RunMark(Files.getLastModifiedTime(json).toMillis(), Files.size(json), false));
+            byRunId.put(runId, json);
+        }
+
+        boolean stale = false;
+        for (var e : index.runs.entrySet()) {
+            if (!e.getValue().sameFile(current.get(e.getKey()))) {
+                stale = true;
+                break;
+            }
+        }
+        if (stale) index = new StatsIndex(file, new LinkedHashMap<>(), new LinkedHashMap<>(), new FailureStats());
+
+        List<Path> added = new ArrayList<>();
+        for (var e : byRunId.entrySet()) {
+            if (!index.runs.containsKey(e.getKey())) added.add(e.getValue());
+        }
+
+        if (!added.isEmpty()) {
+            HistoryLoader.Partial partial = HistoryLoader.load(added);
+            index.merge(partial);
+
+            // Malformed/old runs are remembered as not loaded so they aren't re-parsed every time
+            for (Path json : added) {
+                String runId = json.getParent().getFileName().toString();
+                RunMark mark = current.get(runId);
+                boolean loaded = partial.loaded.getOrDefault(json, false);
+                index.runs.put(runId, new RunMark(mark.lastModifiedMs(), mark.size(), loaded));
+            }
+        }
+
+        boolean dirty = stale || !added.isEmpty();
+        if (dirty) index.save();
+        return index;
+    }
+
+    private void merge(HistoryLoader.Partial partial) {
+        RunHistory.merge(perTest, partial.perTest);
+        failureStats.merge(partial.failureStats);
+    }
+
+    List<String> loadedRunIds(List<Path> jsonFiles) {
+        List<String> ids = new ArrayList<>();
+        for (Path json : jsonFiles) {
+            String runId = json.getParent().getFileName().toString();
+            RunMark mark = runs.get(runId);
+            if (mark != null && mark.loaded()) ids.add(runId);
+        }
+        return ids;
+    }
+
+    Map<String, TestStats> perTest() { return perTest; }
+
+    FailureStats failureStats() { return failureStats; }
+
+    private static StatsIndex load(Path file) {
+        if (Files.exists(file)) {
+            try {
+                Snapshot s = MAPPER.readValue(file.toFile(), Snapshot.class);
+                if (s.version() == VERSION) {
+                    FailureStats fs = new FailureStats();
+                    Objects.requireNonNullElse(s.failureCounts(), Map.<String, Integer>of()).forEach(fs::add);
+                    return new StatsIndex(file,
+                            new LinkedHashMap<>(Objects.requireNonNullElse(s.runs(), Map.of())),
+                            new LinkedHashMap<>(Objects.requireNonNullElse(s.perTest(), Map.of())),
+                            fs);
+                }
+            } catch (Exception ignored) {
+                // Corrupt or foreign file: fall through and rebuild
+            }
+        }
+        return new StatsIndex(file, new LinkedHashMap<>(), new LinkedHashMap<>(), new FailureStats());
+    }
+
+    private void save() throws Exception {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), new Snapshot(VERSION, runs, perTest, failureStats.counts()));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,5 +1,8 @@
 package io.reliabilitykit.analytics;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -9,6 +12,7 @@ public class TestStats {
     public int totalRuns;
     public int passed;
     public int failed;
+    public int flakyRuns;   // counted in passed too: green only after a retry
 
     public long totalDurationMs;
     public long minDurationMs = Long.MAX_VALUE;
@@ -17,7 +21,8 @@ public class TestStats {
     // failureType -> count
     public final Map<String, Integer> failureTypes = new LinkedHashMap<>();
 
-    public TestStats(String testId) {
+    @JsonCreator
+    public TestStats(@JsonProperty("testId") String testId) {
         this.testId = testId;
     }
 
@@ -31,6 +36,21 @@ public class TestStats {
         return totalDurationMs / totalRuns;
     }
 
+    /** Both passed and failed at least once in history, or needed a retry to pass. */
+    public boolean flaky() {
+        return (passed > 0 && failed > 0) || flakyRuns > 0;
+    }
+
+    /**
+     * How much the outcome flips, from 0 (always the same result) to 1: runs on the minority
+     * side of pass/fail, doubled, plus runs that passed only on a retry, over all runs.
+     */
+    public double flakinessScore() {
+        if (totalRuns == 0) return 0.0;
+        int flips = 2 * Math.min(passed - flakyRuns, failed) + flakyRuns;
+        return Math.min(1.0, flips / (double) totalRuns);
+    }
+
     public void addDuration(long durationMs) {
         totalDurationMs += durationMs;
         minDurationMs = Math.min(minDurationMs, durationMs);
@@ -41,4 +61,16 @@ public class TestStats {
         if (type == null || type.isBlank()) type = "UNKNOWN";
         failureTypes.put(type, failureTypes.getOrDefault(type, 0) + 1);
     }
-}
\ No newline at end of file
+
+    /** Fold another partial for the same test into this one. */
+    public void merge(TestStats other) {
+        totalRuns += other.totalRuns;
+        passed += other.passed;
+        failed += other.failed;
+        flakyRuns += other.flakyRuns;
+        totalDurationMs += other.totalDurationMs;
+        minDurationMs = Math.min(minDurationMs, other.minDurationMs);
+        maxDurationMs = Math.max(maxDurationMs, other.maxDurationMs);
+        other.failureTypes.forEach((type, count) -> failureTypes.merge(type, count, Integer::sum));
+    }
+}
@@ -0,0 +1,31 @@
+package io.reliabilitykit.classification;
+
+public final class FailureClassifier {
+
+    private static volatile FailureRules rules;
+
+    private FailureClassifier() {}
+
+    public static FailureInfo classify(Throwable t) {
+        return rules().classify(t);
+    }
+
+    /** For errors that only survive as text, e.g. TestResult.errorMessage in results.json. */
+    public static FailureInfo classify(String errorMessage) {
+        return rules().classify(errorMessage);
+    }
+
+    public static FailureRules rules() {
+        FailureRules r = rules;
+        if (r == null) {
+            synchronized (FailureClassifier.class) {
+                r = rules;
+                if (r == null) {
+                    r = FailureRules.load();
+                    rules = r;
+                }
+            }
+        }
+        return r;
+    }
+}
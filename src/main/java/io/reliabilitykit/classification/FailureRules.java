@@ -0,0 +1,166 @@
+package io.reliabilitykit.classification;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled classification rules (see failure-rules.txt). Class rules are looked up along each
+ * exception's superclass chain; text rules are compiled into one {@link TextMatcher} that reads
+ * a bounded prefix of each message once, so a multi-megabyte Playwright call log costs no more
+ * than a short assertion message.
+ */
+public final class FailureRules {
+
+    public static final String DEFAULT_RESOURCE = "failure-rules.txt";
+
+    // The useful part of an error is at the front; Playwright appends the whole call log after it
+    static final int MAX_SCAN_CHARS = 8 * 1024;
+    static final int MAX_CAUSE_DEPTH = 8;
+    private static final int MAX_CLASS_NAME = 256;
+
+    private static final String FALLBACK_HINT = "Review the full error and trace.";
+
+    private final Map<String, FailureType> classRules;
+    private final List<FailureType> textTypes;
+    private final TextMatcher matcher;
+    private final Map<FailureType, String> hints;
+
+    private FailureRules(Map<String, FailureType> classRules, List<String> textPatterns, List<FailureType> textTypes,
+                         Map<FailureType, String> hints) {
+        this.classRules = classRules;
+        this.textTypes = textTypes;
+        this.matcher = new TextMatcher(textPatterns);
+        this.hints = hints;
+    }
+
+    /** The rules file named by {@code rk.failureRules}, or the bundled defaults. */
+    public static FailureRules load() {
+        String override = System.getProperty("rk.failureRules");
+        if (override != null && !override.isBlank()) {
+            return load(Path.of(override));
+        }
+        try (InputStream in = FailureRules.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Missing classpath resource " + DEFAULT_RESOURCE);
+            return parse(new InputStreamReader(in, StandardCharsets.UTF_8), DEFAULT_RESOURCE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static FailureRules load(Path file) {
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(r, file.toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read failure rules " + file, e);
+        }
+    }
+
+    static FailureRules parse(Reader reader, String source) throws IOException {
+        Map<String, FailureType> classRules = new HashMap<>();
+        List<String> textPatterns = new ArrayList<>();
+        List<FailureType> textTypes = new ArrayList<>();
+        Map<FailureType, String> hints = new EnumMap<>(FailureType.class);
+
+        BufferedReader in = new BufferedReader(reader);
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            String[] parts = trimmed.split("\\s+", 3);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException(source + ":" + lineNo + ": expected <kind> <TYPE> <value>");
+            }
+            FailureType type;
+            try {
+                type = FailureType.valueOf(parts[1]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ":" + lineNo + ": unknown failure type " + parts[1]);
+            }
+            String value = parts[2].strip();
+
+            switch (parts[0]) {
+                case "class" -> classRules.putIfAbsent(value, type);
+                case "text" -> {
+                    textPatterns.add(value);
+                    textTypes.add(type);
+                }
+                case "hint" -> hints.put(type, value);
+                default -> throw new IllegalArgumentException(source + ":" + lineNo + ": unknown rule kind " + parts[0]);
+            }
+        }
+
+        return new FailureRules(classRules, textPatterns, textTypes, hints);
+    }
+
+    public FailureInfo classify(Throwable t) {
+        if (t == null) return info(FailureType.UNKNOWN);
+
+        List<Throwable> chain = causeChain(t);
+
+        // Exception types first: most specific class of the outermost throwable wins
+        for (Throwable c : chain) {
+            for (Class<?> k = c.getClass(); k != null; k = k.getSuperclass()) {
+                FailureType type = classRules.get(k.getName());
+                if (type != null) return info(type);
+            }
+        }
+
+        // Then message text, as Throwable.toString() would render it but without building it
+        for (Throwable c : chain) {
+            int rule = matcher.firstMatch(MAX_SCAN_CHARS, c.getClass().getName(),
+                    c.getLocalizedMessage() == null ? null : ": ", c.getLocalizedMessage());
+            if (rule != TextMatcher.NO_MATCH) return info(textTypes.get(rule));
+        }
+
+        return info(FailureType.UNKNOWN);
+    }
+
+    /**
+     * Classifies a stored {@code Throwable.toString()} (the errorMessage of a TestResult). The
+     * class hierarchy is gone by then, so class rules only match the leading class name exactly.
+     */
+    public FailureInfo classify(String errorMessage) {
+        if (errorMessage == null || errorMessage.isBlank()) return info(FailureType.UNKNOWN);
+
+        int nameEnd = 0;
+        int limit = Math.min(errorMessage.length(), MAX_CLASS_NAME + 1);
+        while (nameEnd < limit && errorMessage.charAt(nameEnd) != ':') nameEnd++;
+        if (nameEnd <= MAX_CLASS_NAME) {
+            FailureType type = classRules.get(errorMessage.substring(0, nameEnd).strip());
+            if (type != null) return info(type);
+        }
+
+        int rule = matcher.firstMatch(MAX_SCAN_CHARS, errorMessage);
+        return info(rule == TextMatcher.NO_MATCH ? FailureType.UNKNOWN : textTypes.get(rule));
+    }
+
+    private FailureInfo info(FailureType type) {
+        return new FailureInfo(type, hints.getOrDefault(type, FALLBACK_HINT));
+    }
+
+    private static List<Throwable> causeChain(Throwable t) {
+        List<Throwable> chain = new ArrayList<>();
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable c = t; c != null && chain.size() < MAX_CAUSE_DEPTH && seen.add(c); c = c.getCause()) {
+            chain.add(c);
+        }
+        return chain;
+    }
+}
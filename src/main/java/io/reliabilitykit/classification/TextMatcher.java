@@ -0,0 +1,142 @@
+package io.reliabilitykit.classification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed list of patterns, flattened into a DFA so
+ * each input char costs one table lookup. A scan reports the lowest index of any pattern that
+ * occurs, which is how rule precedence is expressed.
+ */
+final class TextMatcher {
+
+    static final int NO_MATCH = -1;
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private final int[] ascii = new int[128];
+    private final Map<Character, Integer> otherChars = new HashMap<>();
+    private final int width;
+
+    // delta[state * width + symbol] -> next state; best[state] -> lowest pattern index ending here
+    private final int[] delta;
+    private final int[] best;
+
+    TextMatcher(List<String> patterns) {
+        List<String> lower = new ArrayList<>(patterns.size());
+        int symbols = 1; // 0 stands for every char that appears in no pattern
+        for (String p : patterns) {
+            String l = p.toLowerCase(Locale.ROOT);
+            lower.add(l);
+            for (int i = 0; i < l.length(); i++) {
+                char c = l.charAt(i);
+                if (symbol(c) == 0) {
+                    if (c < 128) {
+                        // Fold ASCII case into the table so the scan never calls toLowerCase for it
+                        ascii[c] = symbols;
+                        ascii[Character.toUpperCase(c)] = symbols++;
+                    } else {
+                        otherChars.put(c, symbols++);
+                    }
+                }
+            }
+        }
+        this.width = symbols;
+
+        // Trie
+        List<int[]> next = new ArrayList<>();
+        List<Integer> out = new ArrayList<>();
+        next.add(newRow());
+        out.add(NONE);
+        for (int p = 0; p < lower.size(); p++) {
+            String l = lower.get(p);
+            if (l.isEmpty()) continue;
+            int state = 0;
+            for (int i = 0; i < l.length(); i++) {
+                int s = symbol(l.charAt(i));
+                if (next.get(state)[s] < 0) {
+                    next.get(state)[s] = next.size();
+                    next.add(newRow());
+                    out.add(NONE);
+                }
+                state = next.get(state)[s];
+            }
+            out.set(state, Math.min(out.get(state), p));
+        }
+
+        // Failure links, resolved straight into DFA transitions in BFS order
+        int states = next.size();
+        delta = new int[states * width];
+        best = new int[states];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        best[0] = out.get(0);
+        for (int s = 0; s < width; s++) {
+            int child = next.get(0)[s];
+            if (child < 0) {
+                delta[s] = 0;
+            } else {
+                delta[s] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            best[state] = Math.min(out.get(state), best[fail[state]]);
+            for (int s = 0; s < width; s++) {
+                int child = next.get(state)[s];
+                int viaFail = delta[fail[state] * width + s];
+                if (child < 0) {
+                    delta[state * width + s] = viaFail;
+                } else {
+                    delta[state * width + s] = child;
+                    fail[child] = viaFail;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Feeds {@code segments} through the automaton as one continuous text, reading at most
+     * {@code maxChars} in total. Returns the lowest matching pattern index, or {@link #NO_MATCH}.
+     */
+    int firstMatch(int maxChars, String... segments) {
+        int state = 0;
+        int found = NONE;
+        int budget = maxChars;
+        for (String seg : segments) {
+            if (seg == null) continue;
+            int end = Math.min(seg.length(), budget);
+            for (int i = 0; i < end; i++) {
+                state = delta[state * width + symbol(seg.charAt(i))];
+                if (best[state] < found) {
+                    found = best[state];
+                    if (found == 0) return 0;
+                }
+            }
+            budget -= end;
+            if (budget <= 0) break;
+        }
+        return found == NONE ? NO_MATCH : found;
+    }
+
+    private int symbol(char c) {
+        if (c < 128) return ascii[c];
+        if (otherChars.isEmpty()) return 0;
+        return otherChars.getOrDefault(Character.toLowerCase(c), 0);
+    }
+
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,96 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.reporting.RunArchive;
+import io.reliabilitykit.reporting.RunCatalog;
+import io.reliabilitykit.reporting.RunResult;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Command(name = "archive", description = "Convert finished runs from results.json to the compact results.rkb format")
+public class ArchiveCommand implements Runnable {
+
+    @Parameters(arity = "0..*", paramLabel = "RUN", description = "Run ids under ./results")
+    List<String> runs = new ArrayList<>();
+
+    @Option(names = "--all", description = "Convert every run that still has a results.json")
+    boolean all;
+
+    @Override
+    public void run() {
+        try {
+            List<Path> dirs = new ArrayList<>();
+            if (all) {
+                dirs.addAll(RunIndex.listRunDirs());
+            } else {
+                for (String run : runs) dirs.add(RunIndex.resultsRoot().resolve(run));
+            }
+            if (dirs.isEmpty()) {
+                System.out.println("Nothing to convert: give run ids or --all");
+                return;
+            }
+
+            int converted = 0;
+            long before = 0;
+            long after = 0;
+            for (Path dir : dirs) {
+                Path json = dir.resolve("results.json");
+                if (!Files.exists(json)) {
+                    if (!all) System.err.println("No results.json in " + dir);
+                    continue;
+                }
+                long jsonBytes = Files.size(json);
+                try {
+                    Path archive = convert(json);
+                    before += jsonBytes;
+                    after += Files.size(archive);
+                    converted++;
+                } catch (Exception e) {
+                    System.err.println("Skipping " + dir.getFileName() + ": " + e.getMessage());
+                }
+            }
+
+            System.out.printf("Converted %d runs: %.1f MB -> %.1f MB%n", converted,
+                    before / 1024.0 / 1024.0, after / 1024.0 / 1024.0);
+        } catch (Exception e) {
+            System.err.println("Failed to archive runs: " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+    }
+
+    /**
+     * Write {@code json}'s run as results.rkb and delete the JSON once the archive reads back
+     * with the same tests and logs, and point the run's catalog entry at the archive. The run
+     * directory keeps its mtime.
+     */
+    static Path convert(Path json) throws Exception {
+        Path dir = json.getParent();
+        Path archive = dir.resolve(RunArchive.FILE_NAME);
+        Path tmp = dir.resolve(RunArchive.FILE_NAME + ".tmp");
+        FileTime dirModified = Files.getLastModifiedTime(dir);
+
+        RunResult run = RunIndex.readRun(json);
+        try {
+            RunArchive.write(run, tmp);
+            RunResult back = RunArchive.read(tmp);
+            if (!back.tests().equals(run.tests()) || !back.logs().equals(run.logs())) {
+                throw new IOException("archive did not read back the same run");
+            }
+            Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        Files.delete(json);
+        Files.setLastModifiedTime(dir, dirModified);
+        RunCatalog.append(RunIndex.resultsRoot(), RunCatalog.Entry.of(run, RunArchive.FILE_NAME));
+        return archive;
+    }
+}
@@ -0,0 +1,74 @@
+package io.reliabilitykit.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client side of {@code rk daemon}: one request per connection, a JSON line such as
+ * {@code {"command":"run","args":[...]}}. The daemon streams the run's console output back and
+ * ends with an {@link #EXIT_MARKER} line carrying the exit code.
+ */
+final class DaemonClient {
+
+    /** Next to the compiled classes the daemon runs, so each checkout gets its own daemon. */
+    static final Path SOCKET = Path.of("target", "rk-daemon.sock");
+
+    static final String EXIT_MARKER = "\u0001rk-daemon-exit ";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DaemonClient() {}
+
+    /** Open a connection to a running daemon, or null if there is none. */
+    static SocketChannel connect() {
+        if (!Files.exists(SOCKET)) return null;
+        try {
+            SocketChannel ch = SocketChannel.open(StandardProtocolFamily.UNIX);
+            ch.connect(UnixDomainSocketAddress.of(SOCKET));
+            return ch;
+        } catch (IOException e) {
+            // Stale socket file from a daemon that died
+            return null;
+        }
+    }
+
+    /** Run {@code mvnArgs} on the daemon, echoing its output; returns the run's exit code. */
+    static int run(SocketChannel ch, List<String> mvnArgs) throws IOException {
+        return send(ch, Map.of("command", "run", "args", mvnArgs));
+    }
+
+    static int stop(SocketChannel ch) throws IOException {
+        return send(ch, Map.of("command", "stop"));
+    }
+
+    private static int send(SocketChannel ch, Map<String, Object> request) throws IOException {
+        try (ch) {
+            OutputStream out = Channels.newOutputStream(ch);
+            out.write(MAPPER.writeValueAsBytes(request));
+            out.write('\n');
+            out.flush();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(ch), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(EXIT_MARKER)) return Integer.parseInt(line.substring(EXIT_MARKER.length()).trim());
+                System.out.println(line);
+            }
+            System.err.println("rk daemon closed the connection before the run finished");
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.reliabilitykit.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reliabilitykit.framework.WarmBrowsers;
+import io.reliabilitykit.reporting.RunCollector;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Command(name = "daemon", description = "Keep a JVM with warm browsers running; 'rk run' then executes on it")
+public class DaemonCommand implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Same patterns Surefire uses to tell test classes from helpers
+    private static final Pattern TEST_CLASS = Pattern.compile(ClassNameFilter.STANDARD_INCLUDE_PATTERN);
+
+    // Wait for the compiler to finish writing before re-running
+    private static final long WATCH_QUIET_MS = 500;
+
+    @Option(names = "--watch", description = "Re-run affected test classes of the last run when target/test-classes changes")
+    boolean watch;
+
+    @Option(names = "--stop", description = "Stop the running daemon and close its browsers")
+    boolean stop;
+
+    private final Object runLock = new Object();
+    private volatile List<String> lastArgs;
+
+    @Override
+    public void run() {
+        try {
+            SocketChannel existing = DaemonClient.connect();
+            if (stop) {
+                if (existing == null) {
+                    System.out.println("No rk daemon running");
+                    return;
+                }
+                DaemonClient.stop(existing);
+                return;
+            }
+            if (existing != null) {
+                existing.close();
+                System.err.println("rk daemon already running on " + DaemonClient.SOCKET);
+                return;
+            }
+            serve();
+        } catch (Exception e) {
+            System.err.println("rk daemon failed: " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+    }
+
+    private void serve() throws Exception {
+        InJvmRunner.testClasspath();  // fail fast without compiled tests
+        System.setProperty("rk.keepBrowsers", "true");
+
+        Files.createDirectories(DaemonClient.SOCKET.getParent());
+        Files.deleteIfExists(DaemonClient.SOCKET);  // stale, nobody answered on it
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(DaemonClient.SOCKET));
+            Runtime.getRuntime().addShutdownHook(new Thread(DaemonCommand::cleanUp, "rk-daemon-cleanup"));
+            System.out.println("rk daemon listening on " + DaemonClient.SOCKET.toAbsolutePath()
+                    + (watch ? ", watching " + InJvmRunner.TEST_CLASSES : ""));
+
+            if (watch) {
+                Thread watcher = new Thread(this::watchLoop, "rk-daemon-watch");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+
+            while (true) {
+                try (SocketChannel client = server.accept()) {
+                    if (!handle(client)) break;
+                } catch (IOException e) {
+                    System.err.println("rk daemon: client error: " + e.getMessage());
+                }
+            }
+        } finally {
+            cleanUp();
+        }
+        System.out.println("rk daemon stopped");
+    }
+
+    /** @return false once asked to stop */
+    private boolean handle(SocketChannel client) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+        String line = in.readLine();
+        if (line == null) return true;
+
+        JsonNode request = MAPPER.readTree(line);
+        OutputStream raw = Channels.newOutputStream(client);
+        PrintStream out = new PrintStream(raw, true, StandardCharsets.UTF_8);
+
+        String command = request.path("command").asText();
+        if ("stop".equals(command)) {
+            out.println("rk daemon stopping, closing " + WarmBrowsers.parkedCount() + " parked browsers");
+            out.println(DaemonClient.EXIT_MARKER + 0);
+            return false;
+        }
+        if (!"run".equals(command)) {
+            out.println("Unknown daemon command: " + command);
+            out.println(DaemonClient.EXIT_MARKER + 2);
+            return true;
+        }
+
+        List<String> args = new ArrayList<>();
+        request.path("args").forEach(a -> args.add(a.asText()));
+        System.out.println("rk daemon: run " + String.join(" ", args));
+        lastArgs = List.copyOf(args);
+
+        int exit = runSuite(args, out);
+        out.println();
+        out.println(DaemonClient.EXIT_MARKER + exit);
+        return true;
+    }
+
+    /**
+     * One run at a time, with the console redirected to {@code out}. System properties are put
+     * back afterwards so one run's -DbaseUrl etc. can't leak into the next.
+     */
+    private int runSuite(List<String> args, PrintStream out) {
+        synchronized (runLock) {
+            Properties saved = (Properties) System.getProperties().clone();
+            PrintStream stdout = System.out;
+            PrintStream stderr = System.err;
+            int warm = WarmBrowsers.parkedCount();
+            long started = System.nanoTime();
+            System.setOut(out);
+            System.setErr(out);
+            try {
+                out.println("rk daemon: " + warm + " warm browsers parked");
+                return InJvmRunner.run(args);
+            } catch (Exception e) {
+                e.printStackTrace(out);
+                return 1;
+            } finally {
+                try {
+                    RunCollector.reset();
+                } catch (Exception e) {
+                    out.println("rk daemon: failed to finish run: " + e);
+                }
+                System.setOut(stdout);
+                System.setErr(stderr);
+                System.setProperties(saved);
+                stdout.println("rk daemon: run finished in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+            }
+        }
+    }
+
+    private void watchLoop() {
+        Path root = InJvmRunner.TEST_CLASSES;
+        try (WatchService ws = FileSystems.getDefault().newWatchService()) {
+            registerTree(ws, root);
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                collect(ws, ws.take(), root, changed);
+                // Drain the burst a compile produces
+                WatchKey more;
+                while ((more = ws.poll(WATCH_QUIET_MS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(ws, more, root, changed);
+                }
+                rerun(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("rk daemon: watcher stopped: " + e.getMessage());
+        }
+    }
+
+    private void collect(WatchService ws, WatchKey key, Path root, Set<String> changed) throws IOException {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.add("*");
+                continue;
+            }
+            Path p = dir.resolve((Path) event.context());
+            if (Files.isDirectory(p)) {
+                registerTree(ws, p);
+                continue;
+            }
+            String rel = root.relativize(p).toString();
+            if (!rel.endsWith(".class")) continue;
+            // io/x/FooTest$1.class -> io.x.FooTest
+            String name = rel.substring(0, rel.length() - ".class".length()).replace(java.io.File.separatorChar, '.');
+            int nested = name.indexOf('$');
+            changed.add(nested < 0 ? name : name.substring(0, nested));
+        }
+        key.reset();
+    }
+
+    /**
+     * Changed test classes are re-run on their own; any other change (framework, page objects,
+     * config) may affect every test, so the whole last run is repeated.
+     */
+    private void rerun(Set<String> changed) {
+        List<String> last = lastArgs;
+        if (changed.isEmpty()) return;
+        if (last == null) {
+            System.out.println("rk daemon: classes changed, but nothing has run yet; waiting for 'rk run'");
+            return;
+        }
+
+        boolean onlyTests = changed.stream().allMatch(c -> TEST_CLASS.matcher(c).matches());
+        List<String> args = new ArrayList<>(last);
+        if (onlyTests) {
+            args.removeIf(a -> a.startsWith("-Dtest="));
+            args.add("-Dtest=" + String.join(",", changed));
+            args.add("-Dsurefire.failIfNoSpecifiedTests=false");
+        }
+        System.out.println("rk daemon: " + changed.size() + " classes changed, re-running "
+                + (onlyTests ? String.join(", ", changed) : "the last run"));
+        int exit = runSuite(args, System.out);
+        System.out.println("rk daemon: watch run exited with " + exit);
+    }
+
+    private static void registerTree(WatchService ws, Path root) throws IOException {
+        if (!Files.isDirectory(root)) return;
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : dirs.filter(Files::isDirectory).toList()) {
+                dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    private static synchronized void cleanUp() {
+        WarmBrowsers.closeAll();
+        try {
+            Files.deleteIfExists(DaemonClient.SOCKET);
+        } catch (IOException ignored) {}
+    }
+}
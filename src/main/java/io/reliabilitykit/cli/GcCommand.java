@@ -0,0 +1,150 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.analytics.Rollup;
+import io.reliabilitykit.reporting.RunCatalog;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Command(name = "gc", description = "Remove old runs, keeping their test outcomes in monthly rollups for rk stats")
+public class GcCommand implements Runnable {
+
+    /** Where the report and artifacts of removed runs with failures are moved. */
+    static final String RETAINED_DIR = ".retained";
+
+    private static final DateTimeFormatter RUN_ID_FMT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final DateTimeFormatter MONTH_FMT = DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+
+    @Option(names = "--keep-runs", description = "Keep the N most recent runs")
+    Integer keepRuns;
+
+    @Option(names = "--keep-days", description = "Keep runs started within the last D days")
+    Integer keepDays;
+
+    @Option(names = "--keep-failed-artifacts", negatable = true, defaultValue = "true", fallbackValue = "true",
+            description = "Move report.html and artifacts of removed runs with failures to results/" + RETAINED_DIR
+                    + " (default: true)")
+    boolean keepFailedArtifacts;
+
+    @Option(names = "--dry-run", description = "Show what would be removed without touching anything")
+    boolean dryRun;
+
+    @Override
+    public void run() {
+        if (keepRuns == null && keepDays == null) {
+            System.err.println("Give --keep-runs and/or --keep-days; a run is kept if either keeps it");
+            return;
+        }
+        try {
+            Path root = RunIndex.resultsRoot();
+            Instant now = Instant.now();
+            Instant cutoff = keepDays == null ? null : now.minus(Duration.ofDays(keepDays));
+
+            // month -> runId -> results file, oldest month first
+            Map<String, Map<String, Path>> expired = new TreeMap<>();
+            List<Path> expiredDirs = new ArrayList<>();
+            int kept = 0;
+            int unfinished = 0;
+            int rank = 0;
+
+            for (Path dir : RunIndex.listRunDirs()) {
+                var results = RunIndex.finalizedResults(dir);
+                if (results.isEmpty()) {
+                    // In progress, or crashed; its journal is still the only copy of what happened
+                    unfinished++;
+                    continue;
+                }
+                Instant started = startedAt(dir);
+                boolean keep = (keepRuns != null && rank < keepRuns) || (cutoff != null && started.isAfter(cutoff));
+                rank++;
+                if (keep) {
+                    kept++;
+                    continue;
+                }
+                String runId = dir.getFileName().toString();
+                expired.computeIfAbsent(MONTH_FMT.format(started), m -> new LinkedHashMap<>()).put(runId, results.get());
+                expiredDirs.add(dir);
+            }
+
+            long freed = 0;
+            int retained = 0;
+            for (Path dir : expiredDirs) {
+                boolean failedArtifacts = keepFailedArtifacts && Files.isDirectory(dir.resolve("artifacts"));
+                freed += sizeOf(dir) - (failedArtifacts ? sizeOf(dir.resolve("artifacts")) : 0);
+                if (failedArtifacts) retained++;
+            }
+
+            if (dryRun) {
+                System.out.printf("Would keep %d runs and remove %d (%.1f MB), retaining artifacts of %d%n",
+                        kept, expiredDirs.size(), freed / 1024.0 / 1024.0, retained);
+                expired.forEach((month, runs) -> System.out.println("  " + month + ": " + String.join(", ", runs.keySet())));
+                return;
+            }
+
+            // Outcomes go into the rollup before anything is deleted; a run is never lost to history
+            for (var e : expired.entrySet()) {
+                List<String> added = Rollup.add(root, e.getKey(), e.getValue());
+                System.out.println("Rolled up " + added.size() + " runs into " + Rollup.DIR_NAME + "/" + e.getKey() + ".json");
+            }
+
+            for (Path dir : expiredDirs) {
+                if (keepFailedArtifacts && Files.isDirectory(dir.resolve("artifacts"))) retain(root, dir);
+                RunIndex.deleteRun(dir);
+            }
+            RunCatalog.compact(root);
+
+            System.out.printf("Kept %d runs, removed %d (%.1f MB freed), retained artifacts of %d under %s%s%n",
+                    kept, expiredDirs.size(), freed / 1024.0 / 1024.0, retained, root.resolve(RETAINED_DIR),
+                    unfinished > 0 ? "; left " + unfinished + " unfinished runs alone" : "");
+        } catch (Exception e) {
+            System.err.println("Failed to gc runs: " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+    }
+
+    /** Run ids are the UTC start time (yyyyMMdd_HHmmss, maybe with a _N suffix); else the dir mtime. */
+    private static Instant startedAt(Path dir) throws IOException {
+        String name = dir.getFileName().toString();
+        if (name.length() >= 15) {
+            try {
+                return LocalDateTime.parse(name.substring(0, 15), RUN_ID_FMT).toInstant(ZoneOffset.UTC);
+            } catch (Exception ignored) {
+                // not a generated run id
+            }
+        }
+        return Files.getLastModifiedTime(dir).toInstant();
+    }
+
+    /**
+     * Move what's needed to look at the failures (artifacts plus the report linking to them by
+     * relative path) to results/.retained/&lt;runId&gt;/.
+     */
+    private static void retain(Path root, Path dir) throws IOException {
+        Path target = root.resolve(RETAINED_DIR).resolve(dir.getFileName().toString());
+        Files.createDirectories(target);
+        for (String name : List.of("artifacts", "report.html", "report-data")) {
+            Path src = dir.resolve(name);
+            if (Files.exists(src) && !Files.exists(target.resolve(name))) Files.move(src, target.resolve(name));
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.reliabilitykit.cli;
+
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Runs a suite on the JUnit Platform Launcher inside the CLI process, instead of forking
+ * {@code mvn test} (Maven startup, dependency resolution and the Surefire fork).
+ *
+ * Takes the same arguments {@link RunCommand} builds for Maven and applies them the way the
+ * pom would: {@code -P} profiles and {@code -DjunitTags*} become tag filters, {@code -Dtest}
+ * becomes class selectors, the Surefire parallel settings come from {@code browserPoolSize},
+ * and every other {@code -D} is set as a system property for the tests. The compiled test
+ * classpath is read from {@code target/rk-test-classpath.txt}, written by {@code mvn test-compile}.
+ */
+final class InJvmRunner {
+
+    static final Path TEST_CLASSES = Path.of("target", "test-classes");
+    static final Path MAIN_CLASSES = Path.of("target", "classes");
+    static final Path CLASSPATH_FILE = Path.of("target", "rk-test-classpath.txt");
+
+    // Mirrors the pom: default excludes demo/poc, the profiles include just their tag
+    private static final String DEFAULT_INCLUDE = "";
+    private static final String DEFAULT_EXCLUDE = "demo,poc";
+    private static final Map<String, String[]> PROFILES = Map.of(
+            "demo", new String[] {"demo", ""},
+            "poc", new String[] {"poc", ""});
+
+    /** What the Maven args ask for. */
+    record Request(String includeTags, String excludeTags, List<String> classes, int parallelism,
+                   Map<String, String> systemProperties) {}
+
+    private InJvmRunner() {}
+
+    static int run(List<String> mvnArgs) throws Exception {
+        Request request = parse(mvnArgs);
+        List<Path> classpath = testClasspath();
+        warnIfStale();
+
+        request.systemProperties().forEach(System::setProperty);
+
+        long started = System.nanoTime();
+        TestExecutionSummary summary = launch(classpath, request, started);
+        summary.printTo(new PrintWriter(System.out, true, StandardCharsets.UTF_8));
+        if (summary.getTotalFailureCount() > 0) {
+            summary.printFailuresTo(new PrintWriter(System.out, true, StandardCharsets.UTF_8), 15);
+        }
+        return summary.getTotalFailureCount() == 0 ? 0 : 1;
+    }
+
+    /**
+     * Discover and execute {@code request} with the test classes loaded from {@code classpath}.
+     * {@code started} is when the caller began, for the "launcher ready" line.
+     */
+    static TestExecutionSummary launch(List<Path> classpath, Request request, long started) throws Exception {
+        URL[] urls = new URL[classpath.size()];
+        for (int i = 0; i < urls.length; i++) urls[i] = classpath.get(i).toUri().toURL();
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader("rk-tests", urls, InJvmRunner.class.getClassLoader())) {
+            // Engines, junit-platform.properties and test classes are all resolved through the TCCL
+            thread.setContextClassLoader(loader);
+
+            Launcher launcher = LauncherFactory.create();
+            TestPlan plan = launcher.discover(discoveryRequest(request));
+            System.out.println("Launcher ready in " + (System.nanoTime() - started) / 1_000_000 + " ms: "
+                    + plan.countTestIdentifiers(TestIdentifier::isTest) + " tests, parallelism=" + request.parallelism());
+
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(plan, listener);
+            return listener.getSummary();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    static Request parse(List<String> mvnArgs) {
+        String include = DEFAULT_INCLUDE;
+        String exclude = DEFAULT_EXCLUDE;
+        List<String> classes = new ArrayList<>();
+        Map<String, String> props = new LinkedHashMap<>();
+
+        for (String arg : mvnArgs) {
+            if (arg.startsWith("-P")) {
+                String[] tags = PROFILES.get(arg.substring(2));
+                if (tags == null) throw new IllegalArgumentException("Unknown profile for in-JVM runs: " + arg);
+                include = tags[0];
+                exclude = tags[1];
+            } else if (arg.startsWith("-D")) {
+                int eq = arg.indexOf('=');
+                String key = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+                String value = eq < 0 ? "true" : arg.substring(eq + 1);
+                switch (key) {
+                    case "junitTagsInclude" -> include = value;
+                    case "junitTagsExclude" -> exclude = value;
+                    case "test" -> classes.addAll(Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList());
+                    default -> {
+                        if (!key.startsWith("surefire.")) props.put(key, value);
+                    }
+                }
+            }
+            // Goals ("test") and other flags have no meaning here
+        }
+
+        int parallelism = 1;
+        String pool = props.getOrDefault("browserPoolSize", System.getProperty("browserPoolSize"));
+        if (pool != null) {
+            try {
+                parallelism = Math.max(1, Integer.parseInt(pool.trim()));
+            } catch (NumberFormatException ignored) {}
+        }
+        return new Request(include, exclude, classes, parallelism, props);
+    }
+
+    private static LauncherDiscoveryRequest discoveryRequest(Request request) {
+        LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request();
+
+        if (request.classes().isEmpty()) {
+            builder.selectors(DiscoverySelectors.selectClasspathRoots(Set.of(TEST_CLASSES.toAbsolutePath())));
+            // Surefire's default includes (*Test, Test*, *Tests, *TestCase)
+            builder.filters(ClassNameFilter.includeClassNamePatterns(ClassNameFilter.STANDARD_INCLUDE_PATTERN));
+        } else {
+            // Like -Dtest, explicit classes bypass the name patterns
+            request.classes().forEach(c -> builder.selectors(DiscoverySelectors.selectClass(c)));
+        }
+
+        if (!request.includeTags().isBlank()) builder.filters(TagFilter.includeTags(tagList(request.includeTags())));
+        if (!request.excludeTags().isBlank()) builder.filters(TagFilter.excludeTags(tagList(request.excludeTags())));
+
+        // Same settings the pom hands Surefire
+        String parallelism = String.valueOf(request.parallelism());
+        builder.configurationParameter("junit.jupiter.execution.parallel.enabled", "true");
+        builder.configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent");
+        builder.configurationParameter("junit.jupiter.execution.parallel.mode.classes.default", "concurrent");
+        builder.configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed");
+        builder.configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", parallelism);
+        builder.configurationParameter("junit.jupiter.execution.parallel.config.fixed.max-pool-size", parallelism);
+        return builder.build();
+    }
+
+    /** Surefire's groups syntax: comma-separated tag expressions, e.g. {@code poc&todomvc,demo}. */
+    private static List<String> tagList(String tags) {
+        return Arrays.stream(tags.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    static List<Path> testClasspath() throws IOException {
+        if (!Files.isDirectory(TEST_CLASSES) || !Files.exists(CLASSPATH_FILE)) {
+            throw new IllegalStateException("No compiled test classpath under target/; run 'mvn test-compile' first");
+        }
+        List<Path> cp = new ArrayList<>();
+        cp.add(TEST_CLASSES.toAbsolutePath());
+        cp.add(MAIN_CLASSES.toAbsolutePath());
+        for (String entry : Files.readString(CLASSPATH_FILE, StandardCharsets.UTF_8).trim().split(java.io.File.pathSeparator)) {
+            if (!entry.isBlank()) cp.add(Path.of(entry));
+        }
+        return cp;
+    }
+
+    /** The in-JVM path never compiles; point out edits that are not in target/ yet. */
+    private static void warnIfStale() throws IOException {
+        FileTime compiled = newest(List.of(TEST_CLASSES, MAIN_CLASSES));
+        FileTime edited = newest(List.of(Path.of("src", "test", "java"), Path.of("src", "main", "java")));
+        if (edited.compareTo(compiled) > 0) {
+            System.err.println("Warning: sources changed since the last 'mvn test-compile'; running the old classes");
+        }
+    }
+
+    private static FileTime newest(List<Path> dirs) throws IOException {
+        FileTime newest = FileTime.fromMillis(0);
+        for (Path dir : dirs) {
+            if (!Files.isDirectory(dir)) continue;
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : files.filter(Files::isRegularFile).toList()) {
+                    FileTime t = Files.getLastModifiedTime(p);
+                    if (t.compareTo(newest) > 0) newest = t;
+                }
+            }
+        }
+        return newest;
+    }
+}
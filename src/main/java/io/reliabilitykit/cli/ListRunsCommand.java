@@ -1,11 +1,10 @@
 package io.reliabilitykit.cli;
 
+import io.reliabilitykit.reporting.RunCatalog;
 import io.reliabilitykit.reporting.RunMeta;
-import io.reliabilitykit.reporting.RunResult;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
-import java.nio.file.Path;
 import java.util.List;
 
 @Command(name = "list-runs", description = "List recent runs under ./results")
@@ -17,24 +16,29 @@ public class ListRunsCommand implements Runnable {
     @Override
     public void run() {
         try {
-            List<Path> runDirs = RunIndex.listRunDirs();
-            if (runDirs.isEmpty()) {
+            List<RunCatalog.Entry> runs = RunIndex.listRuns();
+            if (runs.isEmpty()) {
                 System.out.println("No runs found under ./results");
                 return;
             }
 
-            int count = Math.min(limit, runDirs.size());
+            int count = Math.min(limit, runs.size());
             for (int i = 0; i < count; i++) {
-                Path dir = runDirs.get(i);
-                String runId = dir.getFileName().toString();
+                RunCatalog.Entry run = runs.get(i);
+                String runId = run.runId();
 
-                var jsonOpt = RunIndex.resultsJson(dir);
-                if (jsonOpt.isEmpty()) {
+                if (run.finishedAtIso() == null) {
+                    // In progress (or crashed): only its journal has the counts so far
+                    var jsonOpt = RunIndex.resultsJson(RunIndex.resultsRoot().resolve(runId));
+                    if (jsonOpt.isPresent()) {
+                        run = RunCatalog.Entry.of(RunIndex.readRun(jsonOpt.get()), jsonOpt.get().getFileName().toString());
+                    }
+                }
+                if (run.summary() == null) {
                     System.out.println(runId + "  (missing results.json)");
                     continue;
                 }
 
-                RunResult run = RunIndex.readRun(jsonOpt.get());
                 RunMeta meta = run.meta();
 
                 String baseUrl = (meta != null && meta.baseUrl() != null) ? meta.baseUrl() : "";
@@ -42,15 +46,18 @@ public class ListRunsCommand implements Runnable {
                 String headless = (meta != null) ? String.valueOf(meta.headless()) : "";
 
                 System.out.printf(
-                        "%s  total=%d passed=%d failed=%d durationMs=%d  browser=%s headless=%s  baseUrl=%s%n",
+                        "%s  total=%d passed=%d failed=%d flaky=%d blocked=%d durationMs=%d  browser=%s headless=%s  baseUrl=%s%s%n",
                         runId,
                         run.summary().total(),
                         run.summary().passed(),
                         run.summary().failed(),
+                        run.summary().flaky(),
+                        run.summary().blocked(),
                         run.durationMs(),
                         browser,
                         headless,
-                        baseUrl
+                        baseUrl,
+                        run.finishedAtIso() == null ? "  (in progress)" : ""
                 );
             }
         } catch (Exception e) {
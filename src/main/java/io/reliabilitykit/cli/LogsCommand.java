@@ -1,6 +1,8 @@
 package io.reliabilitykit.cli;
 
+import io.reliabilitykit.reporting.LogIndex;
 import io.reliabilitykit.reporting.LogLevel;
+import io.reliabilitykit.reporting.ResultsJournal;
 import io.reliabilitykit.reporting.RunLog;
 import io.reliabilitykit.reporting.RunResult;
 import picocli.CommandLine.Command;
@@ -8,10 +10,18 @@ import picocli.CommandLine.Option;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Command(name = "logs", description = "Print run logs from results.json")
 public class LogsCommand implements Runnable {
@@ -31,6 +41,9 @@ public class LogsCommand implements Runnable {
     @Option(names={"--tail"}, description="Show only the last N log lines (after filtering)")
     Integer tail;
 
+    @Option(names = {"-f", "--follow"}, description = "Keep printing new logs of an in-progress run until it finishes")
+    boolean follow;
+
     @Option(names = {"--latest"}, description = "Use the latest run")
     boolean latest;
 
@@ -49,40 +62,42 @@ public class LogsCommand implements Runnable {
 
             Path dir = dirOpt.get();
 
+            LogLevel minLevel = parseLevel(level);
+
+            String scopeNorm = normalize(scope);
+            String containsNorm = normalize(contains);
+            String testNorm = normalize(test);
+
+            // A finished run has nothing more to follow; print it like any other
+            Path journal = dir.resolve(ResultsJournal.FILE_NAME);
+            if (follow && Files.exists(journal)) {
+                follow(dir, journal, minLevel, scopeNorm, testNorm, containsNorm);
+                return;
+            }
+
             var jsonOpt = RunIndex.resultsJson(dir);
             if (jsonOpt.isEmpty()) {
                 System.out.println("results.json not found for run: " + dir.getFileName());
                 return;
             }
 
+            // Finished runs are searched through their log index, reading only logs that can match
+            try (LogIndex index = LogIndex.open(jsonOpt.get())) {
+                if (index != null) {
+                    printIndexed(index, dir.getFileName().toString(), minLevel, scopeNorm, testNorm, containsNorm);
+                    return;
+                }
+            }
+
             RunResult run = RunIndex.readRun(jsonOpt.get());
             if (run.logs() == null || run.logs().isEmpty()) {
                 System.out.println("No logs recorded for run: " + run.runId());
                 return;
             }
 
-            LogLevel minLevel = parseLevel(level);
-
-            String scopeNorm = normalize(scope);
-            String containsNorm = normalize(contains);
-            String testNorm = normalize(test);
-
             List<RunLog> filtered = new ArrayList<>();
             for (RunLog log : run.logs()) {
-                if (!passesLevel(log, minLevel)) continue;
-                if (scopeNorm != null && !scopeNorm.equals(normalize(log.scope()))) continue;
-
-                if (testNorm != null) {
-                    String tid = log.testId();
-                    if (tid == null || !normalize(tid).contains(testNorm)) continue;
-                }
-
-                if (containsNorm != null) {
-                    String msg = log.message();
-                    if (msg == null || !normalize(msg).contains(containsNorm)) continue;
-                }
-
-                filtered.add(log);
+                if (matches(log, minLevel, scopeNorm, testNorm, containsNorm)) filtered.add(log);
             }
 
             if (filtered.isEmpty()) {
@@ -97,16 +112,7 @@ public class LogsCommand implements Runnable {
             }
 
             for (int i = from; i < filtered.size(); i++) {
-                RunLog log = filtered.get(i);
-
-                // Keep existing formatting but readable + stable
-                System.out.printf("%s [%s] (%s)%s %s%n",
-                        safe(log.timestampIso()),
-                        safe(String.valueOf(log.level())),
-                        safe(log.scope()),
-                        log.testId() != null ? " (test=" + log.testId() + ")" : "",
-                        safe(log.message())
-                );
+                print(filtered.get(i));
             }
 
         } catch (Exception e) {
@@ -115,9 +121,114 @@ public class LogsCommand implements Runnable {
         }
     }
 
+    private void printIndexed(LogIndex index, String runId, LogLevel minLevel, String scopeNorm, String testNorm,
+                              String containsNorm) throws Exception {
+        if (index.size() == 0) {
+            System.out.println("No logs recorded for run: " + runId);
+            return;
+        }
+
+        BitSet candidates = index.candidates(minLevel, scopeNorm, testNorm, containsNorm);
+        boolean any = false;
+
+        if (tail != null && tail > 0) {
+            // Walk back from the end until there are enough real matches
+            List<RunLog> last = new ArrayList<>();
+            for (int i = candidates.previousSetBit(index.size() - 1); i >= 0 && last.size() < tail;
+                 i = candidates.previousSetBit(i - 1)) {
+                RunLog log = index.read(i);
+                if (matches(log, minLevel, scopeNorm, testNorm, containsNorm)) last.add(log);
+            }
+            Collections.reverse(last);
+            last.forEach(LogsCommand::print);
+            any = !last.isEmpty();
+        } else {
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                RunLog log = index.read(i);
+                if (!matches(log, minLevel, scopeNorm, testNorm, containsNorm)) continue;
+                print(log);
+                any = true;
+            }
+        }
+
+        if (!any) System.out.println("No logs matched filters for run: " + runId);
+    }
+
+    /**
+     * Print what the journal holds so far (the last --tail lines of it, if given), then each
+     * batch the collector flushes, until finalizing the run removes the journal.
+     */
+    private void follow(Path dir, Path journal, LogLevel minLevel, String scopeNorm, String testNorm,
+                        String containsNorm) throws Exception {
+        try (WatchService watch = dir.getFileSystem().newWatchService();
+             ResultsJournal.Tail reader = ResultsJournal.tail(journal)) {
+            dir.register(watch, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+            Deque<RunLog> backlog = new ArrayDeque<>();
+            reader.poll(log -> {
+                if (!matches(log, minLevel, scopeNorm, testNorm, containsNorm)) return;
+                if (tail == null || tail <= 0) {
+                    print(log);
+                    return;
+                }
+                backlog.addLast(log);
+                if (backlog.size() > tail) backlog.removeFirst();
+            });
+            backlog.forEach(LogsCommand::print);
+            System.out.flush();
+
+            while (true) {
+                // Checked before reading, so the last flush before finalize is always printed
+                boolean finished = !Files.exists(journal);
+                reader.poll(log -> {
+                    if (matches(log, minLevel, scopeNorm, testNorm, containsNorm)) print(log);
+                });
+                System.out.flush();
+                if (finished) {
+                    System.out.println("Run finished: " + dir.getFileName());
+                    return;
+                }
+
+                // Woken by the collector's flushes; the timeout covers filesystems without change events
+                WatchKey key = watch.poll(1, TimeUnit.SECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        }
+    }
+
+    private static boolean matches(RunLog log, LogLevel minLevel, String scopeNorm, String testNorm, String containsNorm) {
+        if (!passesLevel(log, minLevel)) return false;
+        if (scopeNorm != null && !scopeNorm.equals(normalize(log.scope()))) return false;
+
+        if (testNorm != null) {
+            String tid = normalize(log.testId());
+            if (tid == null || !tid.contains(testNorm)) return false;
+        }
+
+        if (containsNorm != null) {
+            String msg = normalize(log.message());
+            if (msg == null || !msg.contains(containsNorm)) return false;
+        }
+        return true;
+    }
+
+    private static void print(RunLog log) {
+        // Keep existing formatting but readable + stable
+        System.out.printf("%s [%s] (%s)%s %s%n",
+                safe(log.timestampIso()),
+                safe(String.valueOf(log.level())),
+                safe(log.scope()),
+                log.testId() != null ? " (test=" + log.testId() + ")" : "",
+                safe(log.message())
+        );
+    }
+
     private Optional<Path> resolveRunDir() throws Exception {
         if (runId != null && !runId.isBlank()) {
-            Path p = Path.of("results", runId.trim());
+            Path p = RunIndex.resultsRoot().resolve(runId.trim());
             if (!Files.exists(p) || !Files.isDirectory(p)) {
                 System.out.println("Run not found: " + p);
                 return Optional.empty();
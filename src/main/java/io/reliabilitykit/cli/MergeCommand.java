@@ -0,0 +1,200 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.reporting.LogLevel;
+import io.reliabilitykit.reporting.ResultsWriter;
+import io.reliabilitykit.reporting.RunCollector;
+import io.reliabilitykit.reporting.RunLog;
+import io.reliabilitykit.reporting.RunMeta;
+import io.reliabilitykit.reporting.RunResult;
+import io.reliabilitykit.reporting.Summary;
+import io.reliabilitykit.reporting.TestResult;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@Command(name = "merge", description = "Combine the results of 'rk run --shard' runs into one run and report")
+public class MergeCommand implements Runnable {
+
+    private static final DateTimeFormatter RUN_ID_FMT =
+            DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").withZone(ZoneOffset.UTC);
+
+    @Parameters(arity = "1..*", paramLabel = "RUN",
+            description = "Shard runs: run ids under ./results, run directories, or results.json/.rkb files")
+    List<String> runs;
+
+    @Option(names = "--keep-shards",
+            description = "Keep shard runs under ./results after merging (history then counts their tests twice)")
+    boolean keepShards;
+
+    @Override
+    public void run() {
+        try {
+            List<Path> dirs = new ArrayList<>();
+            List<RunResult> shards = new ArrayList<>();
+            for (String run : runs) {
+                Path dir = runDir(run);
+                var results = RunIndex.finalizedResults(dir);
+                if (results.isEmpty()) {
+                    System.err.println("No finalized results.json in " + dir);
+                    return;
+                }
+                dirs.add(dir);
+                shards.add(RunIndex.readRun(results.get()));
+            }
+
+            if (!checkShards(shards)) return;
+
+            Path root = RunIndex.resultsRoot();
+            Instant started = shards.stream().map(r -> Instant.parse(r.startedAtIso())).min(Comparator.naturalOrder()).orElseThrow();
+            Instant finished = shards.stream().map(r -> Instant.parse(r.finishedAtIso())).max(Comparator.naturalOrder()).orElseThrow();
+
+            String runId = RUN_ID_FMT.format(Instant.now());
+            for (int n = 2; Files.exists(root.resolve(runId)); n++) {
+                runId = RUN_ID_FMT.format(Instant.now()) + "_" + n;
+            }
+
+            List<TestResult> tests = new ArrayList<>();
+            List<RunLog> logs = new ArrayList<>();
+            for (RunResult shard : shards) {
+                tests.addAll(shard.tests());
+                logs.addAll(shard.logs());
+            }
+            // Each shard is already in time order, so this stable sort is a cheap merge of sorted runs
+            logs.sort(Comparator.comparing(l -> Instant.parse(l.timestampIso())));
+            logs.add(new RunLog(DateTimeFormatter.ISO_INSTANT.format(finished), LogLevel.INFO, "RUN",
+                    "Merged " + shards.size() + " shards: "
+                            + String.join(", ", shards.stream().map(RunResult::runId).toList()), null, null));
+
+            Summary summary = Summary.of(tests);
+            RunMeta meta = shards.get(0).meta();
+            RunResult merged = new RunResult(
+                    runId,
+                    DateTimeFormatter.ISO_INSTANT.format(started),
+                    DateTimeFormatter.ISO_INSTANT.format(finished),
+                    finished.toEpochMilli() - started.toEpochMilli(),
+                    meta,
+                    summary,
+                    tests,
+                    logs
+            );
+
+            // Artifact paths are relative to the run dir, so copying keeps the report links valid
+            Path mergedDir = root.resolve(runId);
+            for (Path dir : dirs) copyArtifacts(dir.resolve("artifacts"), mergedDir.resolve("artifacts"));
+            ResultsWriter.write(merged);
+
+            System.out.println("Merged run: " + runId);
+            System.out.println("Tests:      " + summary.total() + " (passed=" + summary.passed()
+                    + " failed=" + summary.failed() + " flaky=" + summary.flaky() + ")");
+            System.out.println("Report:     " + mergedDir.resolve("report.html").toAbsolutePath());
+
+            if (!keepShards) {
+                Path absRoot = root.toAbsolutePath().normalize();
+                for (Path dir : dirs) {
+                    // Shards fetched from other machines to somewhere else are not ours to delete
+                    if (!dir.toAbsolutePath().normalize().startsWith(absRoot)) continue;
+                    RunIndex.deleteRun(dir);
+                    System.out.println("Removed shard run: " + dir.getFileName());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to merge runs: " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+    }
+
+    private static Path runDir(String run) {
+        Path p = Path.of(run);
+        if (Files.isRegularFile(p)) return p.toAbsolutePath().getParent();
+        if (Files.isDirectory(p)) return p;
+        return RunIndex.resultsRoot().resolve(run);
+    }
+
+    /**
+     * Warn about shards that don't belong together; refuse the same shard index twice.
+     *
+     * @return false if the merge should not go ahead
+     */
+    private static boolean checkShards(List<RunResult> shards) {
+        Map<Integer, String> seen = new TreeMap<>();
+        Set<String> plans = new HashSet<>();
+        Set<Integer> counts = new HashSet<>();
+
+        for (RunResult r : shards) {
+            String line = r.logs().stream()
+                    .map(RunLog::message)
+                    .filter(m -> m != null && m.startsWith(RunCollector.SHARD_LOG_PREFIX))
+                    .findFirst().orElse(null);
+            if (line == null) {
+                System.err.println("Warning: " + r.runId() + " was not run with --shard");
+                continue;
+            }
+
+            // "Shard: 2/4 plan=1a2b3c4d"
+            String[] parts = line.substring(RunCollector.SHARD_LOG_PREFIX.length()).split(" plan=");
+            int[] spec = ShardPlanner.parseShard(parts[0]);
+            counts.add(spec[1]);
+            if (parts.length > 1) plans.add(parts[1].trim());
+
+            String previous = seen.put(spec[0], r.runId());
+            if (previous != null) {
+                System.err.println("Shard " + spec[0] + " given twice: " + previous + " and " + r.runId());
+                return false;
+            }
+        }
+
+        if (counts.size() > 1) System.err.println("Warning: shards were planned for different shard counts " + counts);
+        if (plans.size() > 1) {
+            System.err.println("Warning: shards used different plans " + plans
+                    + " (different history on each machine?); tests may be missing or duplicated");
+        }
+        if (counts.size() == 1) {
+            int n = counts.iterator().next();
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 1; i <= n; i++) if (!seen.containsKey(i)) missing.add(i);
+            if (!missing.isEmpty()) System.err.println("Warning: missing shards " + missing + " of " + n);
+        }
+
+        Set<String> ids = new HashSet<>();
+        long duplicates = shards.stream().flatMap(r -> r.tests().stream())
+                .map(TestResult::testId).filter(Objects::nonNull).filter(id -> !ids.add(id)).count();
+        if (duplicates > 0) System.err.println("Warning: " + duplicates + " tests appear in more than one shard");
+
+        Set<String> targets = new HashSet<>();
+        for (RunResult r : shards) {
+            if (r.meta() != null) targets.add(r.meta().baseUrl() + " / " + r.meta().browser());
+        }
+        if (targets.size() > 1) System.err.println("Warning: shards ran against different targets " + targets);
+        return true;
+    }
+
+    private static void copyArtifacts(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) return;
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path src : files.toList()) {
+                Path dst = to.resolve(from.relativize(src).toString());
+                if (Files.isDirectory(src)) {
+                    Files.createDirectories(dst);
+                } else if (!Files.exists(dst)) {
+                    Files.copy(src, dst);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package io.reliabilitykit.cli;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.reliabilitykit.classification.FailureClassifier;
+import io.reliabilitykit.classification.FailureInfo;
+import io.reliabilitykit.classification.FailureRules;
+import io.reliabilitykit.reporting.HtmlReportWriter;
+import io.reliabilitykit.reporting.RunArchive;
+import io.reliabilitykit.reporting.RunResult;
+import io.reliabilitykit.reporting.TestResult;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+@Command(name = "reclassify", description = "Re-run failure classification over every results.json under ./results")
+public class ReclassifyCommand implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Option(names = "--rules", description = "Rules file to classify with (default: -Drk.failureRules or the bundled rules)")
+    Path rulesFile;
+
+    @Option(names = "--threads", description = "Files rewritten in parallel (default: available processors)")
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = "--dry-run", description = "Count what would change without touching any file")
+    boolean dryRun;
+
+    /** What one file contributed; summed across workers. */
+    record Outcome(int files, int failures, int changed, int rewritten, int errors, long bytes) {
+        static final Outcome NONE = new Outcome(0, 0, 0, 0, 0, 0);
+
+        Outcome plus(Outcome o) {
+            return new Outcome(files + o.files, failures + o.failures, changed + o.changed,
+                    rewritten + o.rewritten, errors + o.errors, bytes + o.bytes);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            List<Path> files = RunIndex.listResultsJsonFiles();
+            if (files.isEmpty()) {
+                System.out.println("No runs found under ./results");
+                return;
+            }
+
+            FailureRules rules = rulesFile != null ? FailureRules.load(rulesFile) : FailureClassifier.rules();
+
+            long started = System.nanoTime();
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+            Outcome total;
+            try {
+                total = pool.submit(() -> files.parallelStream()
+                        .map(f -> reclassify(f, rules, dryRun))
+                        .reduce(Outcome.NONE, Outcome::plus)).get();
+            } finally {
+                pool.shutdown();
+            }
+            double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+
+            System.out.printf("Runs scanned:    %d%s%n", total.files(), total.errors() > 0 ? "  (" + total.errors() + " unreadable, skipped)" : "");
+            System.out.printf("Failures:        %d%n", total.failures());
+            System.out.printf("Reclassified:    %d%s%n", total.changed(), dryRun ? "  (dry run, nothing written)" : "");
+            System.out.printf("Runs rewritten:  %d%n", total.rewritten());
+            System.out.printf("Throughput:      %.0f runs/s, %.0f failures/s, %.1f MB/s over %.2fs%n",
+                    total.files() / seconds, total.failures() / seconds,
+                    total.bytes() / 1024.0 / 1024.0 / seconds, seconds);
+        } catch (Exception e) {
+            System.err.println("Failed to reclassify runs: " + e.getMessage());
+            e.printStackTrace(System.err);
+        }
+    }
+
+    /**
+     * Streams {@code json} into a temp file token by token, re-classifying FAILED/FLAKY tests on the
+     * way; logs are copied without being bound. The temp file replaces the original only if a
+     * classification actually changed, and the run directory keeps its mtime so run ordering
+     * (latest run, list-runs) is not disturbed.
+     */
+    static Outcome reclassify(Path json, FailureRules rules, boolean dryRun) {
+        if (json.getFileName().toString().equals(RunArchive.FILE_NAME)) return reclassifyArchive(json, rules, dryRun);
+
+        Path dir = json.getParent();
+        Path tmp = dir.resolve("results.json.reclassify");
+        try {
+            FileTime dirModified = Files.getLastModifiedTime(dir);
+            long bytes = Files.size(json);
+            boolean hasReport = Files.exists(dir.resolve("report.html"));
+
+            ObjectNode header = MAPPER.createObjectNode();
+            List<TestResult> tests = new ArrayList<>();
+            int failures = 0;
+            int changed = 0;
+
+            try (JsonParser p = MAPPER.getFactory().createParser(json.toFile());
+                 OutputStream os = dryRun ? OutputStream.nullOutputStream()
+                         : new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024);
+                 JsonGenerator gen = MAPPER.writerWithDefaultPrettyPrinter().createGenerator(os)) {
+
+                if (p.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Not a results.json object: " + json);
+                }
+                gen.writeStartObject();
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken value = p.nextToken();
+                    gen.writeFieldName(field);
+
+                    if ("tests".equals(field) && value == JsonToken.START_ARRAY) {
+                        gen.writeStartArray();
+                        while (p.nextToken() != JsonToken.END_ARRAY) {
+                            ObjectNode test = p.readValueAsTree();
+                            String status = text(test, "status");
+                            boolean failedOnce = "FAILED".equalsIgnoreCase(status) || "FLAKY".equalsIgnoreCase(status);
+                            if (failedOnce && test.hasNonNull("errorMessage")) {
+                                failures++;
+                                FailureInfo info = rules.classify(test.get("errorMessage").asText());
+                                String type = info.type().name();
+                                if (!type.equals(text(test, "failureType")) || !Objects.equals(info.hint(), text(test, "failureHint"))) {
+                                    test.put("failureType", type);
+                                    test.put("failureHint", info.hint());
+                                    changed++;
+                                }
+                            }
+                            gen.writeTree(test);
+                            if (hasReport) tests.add(MAPPER.treeToValue(test, TestResult.class));
+                        }
+                        gen.writeEndArray();
+                    } else if ("logs".equals(field)) {
+                        gen.copyCurrentStructure(p);
+                    } else {
+                        JsonNode node = p.readValueAsTree();
+                        header.set(field, node);
+                        gen.writeTree(node);
+                    }
+                }
+                gen.writeEndObject();
+            }
+
+            if (dryRun || changed == 0) {
+                Files.deleteIfExists(tmp);
+                return new Outcome(1, failures, changed, 0, 0, bytes);
+            }
+
+            Files.move(tmp, json, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (hasReport) {
+                RunResult run = MAPPER.treeToValue(header, RunResult.class);
+                HtmlReportWriter.write(new RunResult(run.runId(), run.startedAtIso(), run.finishedAtIso(),
+                        run.durationMs(), run.meta(), run.summary(), tests, List.of()), json);
+            }
+            Files.setLastModifiedTime(dir, dirModified);
+            return new Outcome(1, failures, changed, 1, 0, bytes);
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {}
+            System.err.println("Skipping " + json + ": " + e.getMessage());
+            return new Outcome(1, 0, 0, 0, 1, 0);
+        }
+    }
+
+    /** Binary runs have no token stream to patch; the archive is read whole and written again. */
+    static Outcome reclassifyArchive(Path archive, FailureRules rules, boolean dryRun) {
+        Path dir = archive.getParent();
+        Path tmp = dir.resolve(RunArchive.FILE_NAME + ".reclassify");
+        try {
+            FileTime dirModified = Files.getLastModifiedTime(dir);
+            long bytes = Files.size(archive);
+            RunResult run = RunIndex.readRun(archive);
+
+            List<TestResult> tests = new ArrayList<>(run.tests().size());
+            int failures = 0;
+            int changed = 0;
+            for (TestResult t : run.tests()) {
+                boolean failedOnce = "FAILED".equalsIgnoreCase(t.status()) || "FLAKY".equalsIgnoreCase(t.status());
+                if (failedOnce && t.errorMessage() != null) {
+                    failures++;
+                    FailureInfo info = rules.classify(t.errorMessage());
+                    String type = info.type().name();
+                    if (!type.equals(t.failureType()) || !Objects.equals(info.hint(), t.failureHint())) {
+                        t = new TestResult(t.testId(), t.status(), t.durationMs(), t.contextSetupMs(), t.errorMessage(),
+                                type, info.hint(), t.artifacts(), t.attempts());
+                        changed++;
+                    }
+                }
+                tests.add(t);
+            }
+
+            if (dryRun || changed == 0) return new Outcome(1, failures, changed, 0, 0, bytes);
+
+            RunResult updated = new RunResult(run.runId(), run.startedAtIso(), run.finishedAtIso(), run.durationMs(),
+                    run.meta(), run.summary(), tests, run.logs());
+            RunArchive.write(updated, tmp);
+            Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (Files.exists(dir.resolve("report.html"))) HtmlReportWriter.write(updated, archive);
+            Files.setLastModifiedTime(dir, dirModified);
+            return new Outcome(1, failures, changed, 1, 0, bytes);
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {}
+            System.err.println("Skipping " + archive + ": " + e.getMessage());
+            return new Outcome(1, 0, 0, 0, 1, 0);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+}
@@ -14,7 +14,12 @@ import picocli.CommandLine.Command;
                 ReportCommand.class,
                 OpenCommand.class,
                 LogsCommand.class,
-                StatsCommand.class
+                StatsCommand.class,
+                ReclassifyCommand.class,
+                MergeCommand.class,
+                DaemonCommand.class,
+                ArchiveCommand.class,
+                GcCommand.class
 
         }
 )
@@ -1,14 +1,20 @@
 package io.reliabilitykit.cli;
 
+import io.reliabilitykit.analytics.RunHistory;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.function.Predicate;
 
 @Command(
         name = "run",
@@ -29,6 +35,20 @@ public class RunCommand implements Callable<Integer> {
     @Option(names = "--base-url", description = "Override baseUrl for this run (sets -DbaseUrl)")
     private String baseUrl;
 
+    @Option(names = "--workers", description = "Parallel workers, one pooled browser each (sets -DbrowserPoolSize)")
+    private Integer workers;
+
+    @Option(names = "--shard", paramLabel = "i/N",
+            description = "Run only shard i of N, balanced on history durations (combine with 'rk merge')")
+    private String shard;
+
+    @Option(names = "--in-jvm",
+            description = "Run on the JUnit launcher inside this process instead of forking mvn (needs a prior 'mvn test-compile')")
+    private boolean inJvm;
+
+    @Option(names = "--no-daemon", description = "Don't hand the run to a running 'rk daemon'")
+    private boolean noDaemon;
+
     @Override
     public Integer call() {
         try {
@@ -53,12 +73,14 @@ public class RunCommand implements Callable<Integer> {
 
     private int runSmoke() throws Exception {
         // Default: just mvn test (pom excludes demo/poc by default)
-        return MavenRunner.run(List.of("test"), envFromBaseUrl());
+        List<String> args = withShard(withWorkers(List.of("test")), tags -> !tags.contains("demo") && !tags.contains("poc"));
+        return args == null ? 0 : execute(args, envFromBaseUrl());
     }
 
     private int runDemo() throws Exception {
         // Use your existing pom profile for demo
-        return MavenRunner.run(List.of("test", "-Pdemo"), envFromBaseUrl());
+        List<String> args = withShard(withWorkers(List.of("test", "-Pdemo")), tags -> tags.contains("demo"));
+        return args == null ? 0 : execute(args, envFromBaseUrl());
     }
 
     private int runPoc() throws Exception {
@@ -76,15 +98,14 @@ public class RunCommand implements Callable<Integer> {
                     "https://demo.playwright.dev/todomvc/"
             );
 
-            return MavenRunner.run(
-                    List.of(
-                            "test",
-                            "-DjunitTagsInclude=poc&todomvc",
-                            "-DjunitTagsExclude=",
-                            "-DbaseUrl=" + url
-                    ),
-                    new HashMap<>()
-            );
+            List<String> args = withShard(withWorkers(List.of(
+                    "test",
+                    "-DjunitTagsInclude=poc&todomvc",
+                    "-DjunitTagsExclude=",
+                    "-DbaseUrl=" + url
+            )), tags -> tags.contains("poc") && tags.contains("todomvc"));
+
+            return args == null ? 0 : execute(args, new HashMap<>());
 
         }
         // saucedemo
@@ -93,15 +114,71 @@ public class RunCommand implements Callable<Integer> {
                 "https://www.saucedemo.com"
         );
 
-        return MavenRunner.run(
-                List.of(
-                        "test",
-                        "-DjunitTagsInclude=poc&saucedemo",
-                        "-DjunitTagsExclude=",
-                        "-DbaseUrl=" + url
-                ),
-                new HashMap<>()
-        );
+        List<String> args = withShard(withWorkers(List.of(
+                "test",
+                "-DjunitTagsInclude=poc&saucedemo",
+                "-DjunitTagsExclude=",
+                "-DbaseUrl=" + url
+        )), tags -> tags.contains("poc") && tags.contains("saucedemo"));
+
+        return args == null ? 0 : execute(args, new HashMap<>());
+    }
+
+    private List<String> withWorkers(List<String> mvnArgs) {
+        if (workers == null || workers < 1) return mvnArgs;
+        // Same property drives both the browser pool and junit parallelism (see pom)
+        List<String> args = new ArrayList<>(mvnArgs);
+        args.add("-DbrowserPoolSize=" + workers);
+        return args;
+    }
+
+    private int execute(List<String> mvnArgs, Map<String, String> env) throws Exception {
+        SocketChannel daemon = noDaemon ? null : DaemonClient.connect();
+        if (daemon == null && !inJvm) return MavenRunner.run(mvnArgs, env);
+
+        if (env != null && !env.isEmpty()) {
+            System.err.println("Warning: environment overrides are ignored for in-JVM runs: " + env.keySet());
+        }
+        if (daemon != null) {
+            System.out.println("Running on rk daemon (" + DaemonClient.SOCKET + "); --no-daemon to fork mvn instead");
+            return DaemonClient.run(daemon, mvnArgs);
+        }
+        return InJvmRunner.run(mvnArgs);
+    }
+
+    /**
+     * Restricts the run to this shard's test classes via -Dtest. {@code inSuite} must mirror the
+     * suite's tag filter so the plan only balances classes that would actually run.
+     *
+     * @return the args to run, or null when this shard got no classes
+     */
+    private List<String> withShard(List<String> mvnArgs, Predicate<Set<String>> inSuite) throws Exception {
+        if (shard == null || shard.isBlank()) return mvnArgs;
+
+        int[] spec = ShardPlanner.parseShard(shard);
+        List<ShardPlanner.TestClass> classes = ShardPlanner.discover(Path.of("src", "test", "java"), inSuite);
+        ShardPlanner.Plan plan = ShardPlanner.plan(classes, RunHistory.loadAll().perTest, spec[1]);
+        List<String> mine = plan.shards().get(spec[0] - 1);
+
+        System.out.println("Shard " + spec[0] + "/" + spec[1] + " (plan " + plan.fingerprint() + "): "
+                + mine.size() + " of " + classes.size() + " test classes, est. "
+                + plan.estimatedMs()[spec[0] - 1] + " ms");
+        for (int i = 0; i < spec[1]; i++) {
+            System.out.println("  " + (i + 1 == spec[0] ? "*" : " ") + " shard " + (i + 1)
+                    + ": classes=" + plan.shards().get(i).size() + " estMs=" + plan.estimatedMs()[i]);
+        }
+        if (mine.isEmpty()) {
+            System.out.println("Nothing to run on this shard.");
+            return null;
+        }
+
+        List<String> args = new ArrayList<>(mvnArgs);
+        args.add("-Dtest=" + String.join(",", mine));
+        args.add("-Dsurefire.failIfNoSpecifiedTests=false");
+        // Picked up by RunCollector so 'rk merge' can check the shards belong together
+        args.add("-Drk.shard=" + spec[0] + "/" + spec[1]);
+        args.add("-Drk.shardPlan=" + plan.fingerprint());
+        return args;
     }
 
     private Map<String, String> envFromBaseUrl() {
@@ -123,5 +200,6 @@ public class RunCommand implements Callable<Integer> {
         System.err.println("  rk run demo");
         System.err.println("  rk run poc --todomvc");
         System.err.println("  rk run poc --saucedemo");
+        System.err.println("  rk run smoke --shard 1/4");
     }
 }
\ No newline at end of file
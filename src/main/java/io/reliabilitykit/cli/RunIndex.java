@@ -1,47 +1,154 @@
 package io.reliabilitykit.cli;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reliabilitykit.reporting.ResultsJournal;
+import io.reliabilitykit.reporting.ResultsWriter;
+import io.reliabilitykit.reporting.RunArchive;
+import io.reliabilitykit.reporting.RunCatalog;
 import io.reliabilitykit.reporting.RunResult;
 
+import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class RunIndex {
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    // Same order as RunCatalog.latest(): start time, then runId
+    private static final Comparator<RunCatalog.Entry> BY_START =
+            Comparator.comparing(RunCatalog.Entry::startedAtIso, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(RunCatalog.Entry::runId);
+
     private RunIndex() {}
 
     public static Path resultsRoot() {
-        return Paths.get("results");
+        return ResultsWriter.resultsRoot();
     }
 
+    /** Run directories, newest first. */
     public static List<Path> listRunDirs() throws Exception {
+        Path root = resultsRoot();
+        List<Path> dirs = new ArrayList<>();
+        for (RunCatalog.Entry e : listRuns()) dirs.add(root.resolve(e.runId()));
+        return dirs;
+    }
+
+    /**
+     * Runs from the catalog, newest first by start time. Catalog order can't be used as is: a run
+     * copied in is appended when it's found, whenever it started. Only when something other than
+     * rk changed the results directory is it listed (not stat'ed per run) to bring the catalog up
+     * to date.
+     */
+    public static List<RunCatalog.Entry> listRuns() throws Exception {
         Path root = resultsRoot();
         if (!Files.exists(root)) return List.of();
 
-        try (var stream = Files.list(root)) {
-            return stream
-                    .filter(Files::isDirectory)
-                    .sorted((a, b) -> {
-                        try {
-                            return Files.getLastModifiedTime(b).compareTo(Files.getLastModifiedTime(a));
-                        } catch (Exception e) {
-                            return 0;
-                        }
-                    })
-                    .toList();
-        }
+        List<RunCatalog.Entry> runs = RunCatalog.read(root);
+        if (stale(root)) runs = reconcile(root, runs);
+        runs.sort(BY_START.reversed());
+        return runs;
     }
 
     public static Optional<Path> latestRunDir() throws Exception {
-        List<Path> dirs = listRunDirs();
-        return dirs.isEmpty() ? Optional.empty() : Optional.of(dirs.get(0));
+        Path root = resultsRoot();
+        if (!Files.exists(root)) return Optional.empty();
+
+        RunCatalog.Entry latest = stale(root) ? null : RunCatalog.latest(root);
+        if (latest == null) {
+            List<RunCatalog.Entry> runs = listRuns();
+            if (runs.isEmpty()) return Optional.empty();
+            latest = runs.get(0);
+        }
+        return Optional.of(root.resolve(latest.runId()));
     }
 
+    /** Delete a run directory and drop it from the catalog. */
+    static void deleteRun(Path dir) throws IOException {
+        deleteTree(dir);
+        RunCatalog.append(resultsRoot(), RunCatalog.Entry.removed(dir.getFileName().toString()));
+    }
+
+    // rk appends to the catalog after creating or deleting a run directory, so a results
+    // directory modified later than the catalog was changed by something else: a run copied
+    // in, an rm -rf, an older rk, or just a new stats index file.
+    private static boolean stale(Path root) throws IOException {
+        Path catalog = RunCatalog.path(root);
+        return !Files.exists(catalog)
+                || Files.getLastModifiedTime(root).compareTo(Files.getLastModifiedTime(catalog)) > 0;
+    }
+
+    private static List<RunCatalog.Entry> reconcile(Path root, List<RunCatalog.Entry> runs) throws Exception {
+        // Names only: a cataloged run is a directory, so only names the catalog doesn't know get a stat
+        Set<String> names = new HashSet<>();
+        try (var stream = Files.newDirectoryStream(root)) {
+            for (Path p : stream) {
+                String name = p.getFileName().toString();
+                // .auth, .index and other dot-entries hold framework state, not runs
+                if (!name.startsWith(".")) names.add(name);
+            }
+        }
+
+        List<RunCatalog.Entry> live = new ArrayList<>();
+        List<RunCatalog.Entry> changes = new ArrayList<>();
+        Set<String> known = new HashSet<>();
+        for (RunCatalog.Entry e : runs) {
+            if (names.contains(e.runId())) {
+                live.add(e);
+                known.add(e.runId());
+            } else {
+                changes.add(RunCatalog.Entry.removed(e.runId()));
+            }
+        }
+
+        List<RunCatalog.Entry> found = new ArrayList<>();
+        for (String name : names) {
+            if (known.contains(name) || name.equals(RunCatalog.FILE_NAME)) continue;
+            Path dir = root.resolve(name);
+            if (Files.isDirectory(dir)) found.add(describe(dir));
+        }
+        found.sort(BY_START);
+        live.addAll(found);
+        changes.addAll(found);
+
+        RunCatalog.append(root, changes);
+        Path catalog = RunCatalog.path(root);
+        if (Files.exists(catalog)) Files.setLastModifiedTime(catalog, FileTime.from(Instant.now()));
+        return live;
+    }
+
+    // Catalog entry for a run directory rk didn't record, from its results file
+    private static RunCatalog.Entry describe(Path dir) {
+        String runId = dir.getFileName().toString();
+        Optional<Path> results = resultsJson(dir);
+        if (results.isPresent()) {
+            try {
+                RunResult run = readRun(results.get());
+                return new RunCatalog.Entry(runId, run.startedAtIso(), run.finishedAtIso(), run.durationMs(),
+                        run.meta(), run.summary(), results.get().getFileName().toString(), false);
+            } catch (Exception ignored) {
+                // listed as missing its results
+            }
+        }
+        return new RunCatalog.Entry(runId, null, null, 0, null, null, null, false);
+    }
+
+    /** results.json or results.rkb, or the in-progress journal when the run has not finalized (or crashed). */
     public static Optional<Path> resultsJson(Path runDir) {
-        Path p = runDir.resolve("results.json");
-        return Files.exists(p) ? Optional.of(p) : Optional.empty();
+        Optional<Path> finalized = finalizedResults(runDir);
+        if (finalized.isPresent()) return finalized;
+        Path journal = runDir.resolve(ResultsJournal.FILE_NAME);
+        return Files.exists(journal) ? Optional.of(journal) : Optional.empty();
+    }
+
+    /** The results of a finished run in either format; results.json wins if both exist. */
+    public static Optional<Path> finalizedResults(Path runDir) {
+        Path json = runDir.resolve("results.json");
+        if (Files.exists(json)) return Optional.of(json);
+        Path archive = runDir.resolve(RunArchive.FILE_NAME);
+        return Files.exists(archive) ? Optional.of(archive) : Optional.empty();
     }
 
     public static Optional<Path> reportHtml(Path runDir) {
@@ -50,6 +157,13 @@ public final class RunIndex {
     }
 
     public static RunResult readRun(Path resultsJson) throws Exception {
+        String name = resultsJson.getFileName().toString();
+        if (name.equals(ResultsJournal.FILE_NAME)) {
+            return ResultsJournal.read(resultsJson);
+        }
+        if (name.equals(RunArchive.FILE_NAME)) {
+            return RunArchive.read(resultsJson);
+        }
         return MAPPER.readValue(resultsJson.toFile(), RunResult.class);
     }
 
@@ -57,9 +171,25 @@ public final class RunIndex {
         List<Path> runDirs = listRunDirs();
         List<Path> files = new ArrayList<>();
         for (Path dir : runDirs) {
-            Path p = dir.resolve("results.json");
-            if (Files.exists(p)) files.add(p);
+            finalizedResults(dir).ifPresent(files::add);
         }
         return files;
     }
-}
\ No newline at end of file
+
+    /** Delete a run directory (or any tree) bottom-up. */
+    static void deleteTree(Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path d, IOException exc) throws IOException {
+                Files.delete(d);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package io.reliabilitykit.cli;
+
+import io.reliabilitykit.analytics.TestStats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Splits a suite's test classes into N shards of similar wall time.
+ *
+ * Classes are the unit (JUnit runs them concurrently, and surefire's -Dtest takes them directly).
+ * A class weighs the sum of its tests' average durations from history; tests without history
+ * count as the average of all known tests. Classes are then placed longest-first onto the
+ * least-loaded shard (LPT). The plan is deterministic for a given source tree and history, so
+ * every machine computes the same one; its fingerprint is logged per shard so {@code rk merge}
+ * can spot machines that disagreed.
+ */
+final class ShardPlanner {
+
+    /** Weight for a test when history is empty. */
+    private static final long DEFAULT_TEST_MS = 1000;
+
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern TAG = Pattern.compile("@Tag\\(\\s*\"([^\"]+)\"\\s*\\)");
+    // Jupiter's test annotations plus the framework's @RetryingTest; matched after comments are stripped
+    private static final Pattern TEST = Pattern.compile(
+            "(?<![\\w.@])@(Test|RetryingTest|TestTemplate|ParameterizedTest|RepeatedTest|TestFactory)\\b");
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/|//[^\n]*", Pattern.DOTALL);
+
+    record TestClass(String name, Set<String> tags, int testCount) {}
+
+    record Plan(List<List<String>> shards, long[] estimatedMs, String fingerprint) {}
+
+    private ShardPlanner() {}
+
+    /** Parses {@code "2/4"} into {index, count}, 1-based. */
+    static int[] parseShard(String spec) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) throw new IllegalArgumentException("Expected --shard i/N, got: " + spec);
+        int index = Integer.parseInt(parts[0].trim());
+        int count = Integer.parseInt(parts[1].trim());
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard index must be within 1.." + count + ": " + spec);
+        }
+        return new int[] {index, count};
+    }
+
+    /**
+     * Test classes under {@code testSources} (a file with a test method annotation outside comments;
+     * annotation declarations don't count) whose class-level tags pass {@code inSuite}. Sorted by name.
+     */
+    static List<TestClass> discover(Path testSources, Predicate<Set<String>> inSuite) throws IOException {
+        if (!Files.isDirectory(testSources)) return List.of();
+
+        List<TestClass> classes = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(testSources)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".java")).sorted().toList()) {
+                String src = Files.readString(file, StandardCharsets.UTF_8);
+                String code = COMMENT.matcher(src).replaceAll(" ");
+                if (code.contains("@interface")) continue;
+                int tests = count(TEST.matcher(code));
+                if (tests == 0 || code.contains("abstract class")) continue;
+
+                String simpleName = file.getFileName().toString().replace(".java", "");
+                Matcher pkg = PACKAGE.matcher(src);
+                String name = pkg.find() ? pkg.group(1) + "." + simpleName : simpleName;
+
+                // Only tags in front of the class declaration apply to the whole class
+                Matcher decl = Pattern.compile("\\bclass\\s+" + Pattern.quote(simpleName) + "\\b").matcher(src);
+                Matcher tag = TAG.matcher(decl.find() ? src.substring(0, decl.start()) : src);
+                Set<String> tags = new LinkedHashSet<>();
+                while (tag.find()) tags.add(tag.group(1));
+
+                if (inSuite.test(tags)) classes.add(new TestClass(name, tags, tests));
+            }
+        }
+        classes.sort(Comparator.comparing(TestClass::name));
+        return classes;
+    }
+
+    static Plan plan(List<TestClass> classes, Map<String, TestStats> history, int shardCount) {
+        Map<String, Long> weights = estimate(classes, history);
+
+        List<String> order = new ArrayList<>(weights.keySet());
+        order.sort(Comparator.<String>comparingLong(weights::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) shards.add(new ArrayList<>());
+        long[] load = new long[shardCount];
+
+        // Least loaded first, lowest index on ties, so the result does not depend on heap internals
+        PriorityQueue<Integer> bins = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(i -> load[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < shardCount; i++) bins.add(i);
+
+        for (String name : order) {
+            int bin = bins.poll();
+            shards.get(bin).add(name);
+            load[bin] += weights.get(name);
+            bins.add(bin);
+        }
+        for (List<String> shard : shards) shard.sort(Comparator.naturalOrder());
+
+        return new Plan(shards, load, fingerprint(shards));
+    }
+
+    private static Map<String, Long> estimate(List<TestClass> classes, Map<String, TestStats> history) {
+        Map<String, long[]> known = new HashMap<>();  // class -> {sum of avg ms, tests with history}
+        long totalAvg = 0;
+        for (TestStats s : history.values()) {
+            if (s.totalRuns == 0) continue;
+            int hash = s.testId.indexOf('#');
+            if (hash < 0) continue;
+            long[] k = known.computeIfAbsent(s.testId.substring(0, hash), c -> new long[2]);
+            k[0] += s.avgDurationMs();
+            k[1]++;
+            totalAvg += s.avgDurationMs();
+        }
+        int knownTests = known.values().stream().mapToInt(k -> (int) k[1]).sum();
+        long unknownTestMs = knownTests == 0 ? DEFAULT_TEST_MS : Math.max(1, totalAvg / knownTests);
+
+        Map<String, Long> weights = new HashMap<>();
+        for (TestClass c : classes) {
+            long[] k = known.getOrDefault(c.name(), new long[2]);
+            long unknown = Math.max(0, c.testCount() - k[1]);
+            weights.put(c.name(), Math.max(1, k[0] + unknown * unknownTestMs));
+        }
+        return weights;
+    }
+
+    private static String fingerprint(List<List<String>> shards) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (List<String> shard : shards) {
+                md.update(String.join(",", shard).getBytes(StandardCharsets.UTF_8));
+                md.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(md.digest(), 0, 4);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int count(Matcher m) {
+        int n = 0;
+        while (m.find()) n++;
+        return n;
+    }
+}
@@ -19,6 +19,9 @@ public class StatsCommand implements Runnable {
     @Option(names="--top-slowest", description="Show slowest tests by avg duration (default: 5)")
     Integer topSlowest = 5;
 
+    @Option(names="--top-flaky", description="Show flakiest tests by flakiness score (default: 5)")
+    Integer topFlaky = 5;
+
     @Option(names="--test", description="Show stats for a specific testId")
     String testId;
 
@@ -27,12 +30,12 @@ public class StatsCommand implements Runnable {
         try {
             RunHistory history = RunHistory.loadAll();
 
-            if (history.runs.isEmpty()) {
+            if (history.runIds.isEmpty()) {
                 System.out.println("No runs found under ./results");
                 return;
             }
 
-            System.out.println("Runs analyzed: " + history.runs.size());
+            System.out.println("Runs analyzed: " + history.runIds.size());
             System.out.println("Unique tests:  " + history.perTest.size());
             System.out.println("Executions:    " + history.totalTestsExecuted());
             System.out.println();
@@ -49,6 +52,8 @@ public class StatsCommand implements Runnable {
 
             printTopFailing(history.perTest, topFailures);
             System.out.println();
+            printTopFlaky(history.perTest, topFlaky);
+            System.out.println();
             printTopSlowest(history.perTest, topSlowest);
             System.out.println();
             printFailureTypes(history.failureStats.counts());
@@ -78,6 +83,26 @@ public class StatsCommand implements Runnable {
         }
     }
 
+    private void printTopFlaky(Map<String, TestStats> perTest, int limit) {
+        System.out.println("Flakiest tests:");
+        List<TestStats> sorted = perTest.values().stream()
+                .filter(TestStats::flaky)
+                .sorted(Comparator.comparingDouble(TestStats::flakinessScore).reversed()
+                        .thenComparing(s -> s.testId))
+                .limit(limit)
+                .toList();
+
+        if (sorted.isEmpty()) {
+            System.out.println("  (none)");
+            return;
+        }
+
+        for (TestStats s : sorted) {
+            System.out.printf("  - %s  score=%.2f  failed=%d flakyRuns=%d/%d%n",
+                    s.testId, s.flakinessScore(), s.failed, s.flakyRuns, s.totalRuns);
+        }
+    }
+
     private void printTopSlowest(Map<String, TestStats> perTest, int limit) {
         System.out.println("Slowest tests (avg duration):");
         List<TestStats> sorted = perTest.values().stream()
@@ -112,6 +137,8 @@ public class StatsCommand implements Runnable {
         System.out.println("  totalRuns: " + s.totalRuns);
         System.out.println("  passed:    " + s.passed);
         System.out.println("  failed:    " + s.failed);
+        System.out.println("  flaky:     " + s.flakyRuns + " (passed on retry)");
+        System.out.printf("  flakiness: %.2f%n", s.flakinessScore());
         System.out.printf("  passRate:  %.1f%%%n", s.passRate());
         System.out.println("  avgMs:     " + s.avgDurationMs());
         System.out.println("  minMs:     " + (s.minDurationMs == Long.MAX_VALUE ? 0 : s.minDurationMs));
@@ -1,25 +1,68 @@
 package io.reliabilitykit.framework;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public final class ToolkitConfig {
 
     public enum BrowserName { CHROMIUM, FIREFOX, WEBKIT }
 
+    public enum ReportMode { AUTO, INLINE, PAGED }
+
+    public enum TracingMode { OFF, ON_FAILURE_RETRY, HISTORY_FLAKY, ALWAYS }
+
+    public enum ResultsFormat { JSON, BINARY }
+
     private final String baseUrl;
     private final BrowserName browser;
     private final boolean headless;
     private final int slowMoMs;
     private final int timeoutMs;
-
-    private ToolkitConfig(String baseUrl, BrowserName browser, boolean headless, int slowMoMs, int timeoutMs) {
+    private final int browserPoolSize;
+    private final ReportMode reportMode;
+    private final int reportPageSize;
+    private final TracingMode tracingMode;
+    private final int contextMaxUses;
+    private final int authStateTtlMinutes;
+    private final boolean assetCache;
+    private final int assetCacheMaxMb;
+    private final int retries;
+    private final double retryMinFlakiness;
+    private final int circuitBreakerWindow;
+    private final int circuitBreakerPercent;
+    private final Set<String> circuitBreakerTypes;
+    private final ResultsFormat resultsFormat;
+
+    private ToolkitConfig(String baseUrl, BrowserName browser, boolean headless, int slowMoMs, int timeoutMs,
+                          int browserPoolSize, ReportMode reportMode, int reportPageSize,
+                          TracingMode tracingMode, int contextMaxUses, int authStateTtlMinutes,
+                          boolean assetCache, int assetCacheMaxMb, int retries, double retryMinFlakiness,
+                          int circuitBreakerWindow, int circuitBreakerPercent, Set<String> circuitBreakerTypes,
+                          ResultsFormat resultsFormat) {
         this.baseUrl = baseUrl;
         this.browser = browser;
         this.headless = headless;
         this.slowMoMs = slowMoMs;
         this.timeoutMs = timeoutMs;
+        this.browserPoolSize = browserPoolSize;
+        this.reportMode = reportMode;
+        this.reportPageSize = reportPageSize;
+        this.tracingMode = tracingMode;
+        this.contextMaxUses = contextMaxUses;
+        this.authStateTtlMinutes = authStateTtlMinutes;
+        this.assetCache = assetCache;
+        this.assetCacheMaxMb = assetCacheMaxMb;
+        this.retries = retries;
+        this.retryMinFlakiness = retryMinFlakiness;
+        this.circuitBreakerWindow = circuitBreakerWindow;
+        this.circuitBreakerPercent = circuitBreakerPercent;
+        this.circuitBreakerTypes = circuitBreakerTypes;
+        this.resultsFormat = resultsFormat;
     }
 
     public String baseUrl() { return baseUrl; }
@@ -27,12 +70,26 @@ public final class ToolkitConfig {
     public boolean headless() { return headless; }
     public int slowMoMs() { return slowMoMs; }
     public int timeoutMs() { return timeoutMs; }
+    public int browserPoolSize() { return browserPoolSize; }
+    public ReportMode reportMode() { return reportMode; }
+    public int reportPageSize() { return reportPageSize; }
+    public TracingMode tracingMode() { return tracingMode; }
+    public int contextMaxUses() { return contextMaxUses; }
+    public int authStateTtlMinutes() { return authStateTtlMinutes; }
+    public boolean assetCache() { return assetCache; }
+    public int assetCacheMaxMb() { return assetCacheMaxMb; }
+    public int retries() { return retries; }
+    public double retryMinFlakiness() { return retryMinFlakiness; }
+    public int circuitBreakerWindow() { return circuitBreakerWindow; }
+    public int circuitBreakerPercent() { return circuitBreakerPercent; }
+    public Set<String> circuitBreakerTypes() { return circuitBreakerTypes; }
+    public ResultsFormat resultsFormat() { return resultsFormat; }
 
     public static ToolkitConfig load() {
         Properties fileProps = new Properties();
 
         // Optional: src/test/resources/config.properties
-        try (InputStream in = ToolkitConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
+        try (InputStream in = configResource()) {
             if (in != null) fileProps.load(in);
         } catch (Exception ignored) {}
 
@@ -41,8 +98,47 @@ public final class ToolkitConfig {
         boolean headless = parseBool(get("headless", "HEADLESS", fileProps, "true"));
         int slowMo = parseInt(get("slowMoMs", "SLOW_MO_MS", fileProps, "0"), 0);
         int timeout = parseInt(get("timeoutMs", "TIMEOUT_MS", fileProps, "30000"), 30000);
+        // One Playwright + Browser per slot; match junit parallelism to this value
+        int poolSize = Math.max(1, parseInt(get("browserPoolSize", "BROWSER_POOL_SIZE", fileProps, "1"), 1));
+        // AUTO switches report.html to on-demand pages once a run gets large
+        ReportMode reportMode = parseReportMode(get("reportMode", "REPORT_MODE", fileProps, "AUTO"));
+        int reportPageSize = Math.max(50, parseInt(get("reportPageSize", "REPORT_PAGE_SIZE", fileProps, "500"), 500));
+        // off | on-failure-retry | history-flaky | always
+        TracingMode tracingMode = parseTracingMode(get("tracing", "TRACING", fileProps, "always"));
+        // Tests a pooled BrowserContext serves before it is replaced; 1 = fresh context per test
+        int contextMaxUses = Math.max(1, parseInt(get("contextMaxUses", "CONTEXT_MAX_USES", fileProps, "10"), 10));
+        // Max age of a cached @LoginWith storageState before logging in again
+        int authStateTtl = Math.max(1, parseInt(get("authStateTtlMinutes", "AUTH_STATE_TTL_MINUTES", fileProps, "30"), 30));
+        // Serve same-origin static assets (js/css/fonts/images) from a run-wide in-memory cache
+        boolean assetCache = parseBool(get("assetCache", "ASSET_CACHE", fileProps, "false"));
+        int assetCacheMaxMb = Math.max(1, parseInt(get("assetCacheMaxMb", "ASSET_CACHE_MAX_MB", fileProps, "64"), 64));
+        // Extra attempts for a failed test whose history flakiness score is at least retryMinFlakiness; 0 = never retry
+        int retries = Math.max(0, parseInt(get("retries", "RETRIES", fileProps, "1"), 1));
+        double retryMinFlakiness = parseDouble(get("retryMinFlakiness", "RETRY_MIN_FLAKINESS", fileProps, "0.05"), 0.05);
+        // Block the rest of the run once circuitBreakerPercent% of the last circuitBreakerWindow tests
+        // failed with an infrastructure type; window 0 = never
+        int breakerWindow = Math.max(0, parseInt(get("circuitBreakerWindow", "CIRCUIT_BREAKER_WINDOW", fileProps, "10"), 10));
+        int breakerPercent = Math.min(100, Math.max(1,
+                parseInt(get("circuitBreakerPercent", "CIRCUIT_BREAKER_PERCENT", fileProps, "80"), 80)));
+        Set<String> breakerTypes = parseList(get("circuitBreakerTypes", "CIRCUIT_BREAKER_TYPES", fileProps,
+                "NAVIGATION_ERROR,NETWORK_ERROR"));
+        // json = results.json; binary = the compact results.rkb archive (report.html either way)
+        ResultsFormat resultsFormat = parseResultsFormat(get("resultsFormat", "RESULTS_FORMAT", fileProps, "json"));
+
+        return new ToolkitConfig(baseUrl, browser, headless, slowMo, timeout, poolSize, reportMode, reportPageSize,
+                tracingMode, contextMaxUses, authStateTtl, assetCache, assetCacheMaxMb, retries, retryMinFlakiness,
+                breakerWindow, breakerPercent, breakerTypes, resultsFormat);
+    }
 
-        return new ToolkitConfig(baseUrl, browser, headless, slowMo, timeout);
+    /**
+     * The test classpath's config.properties. In --in-jvm and daemon runs this class comes from the
+     * CLI jar while the test classes sit in a child loader that InJvmRunner sets as the context
+     * class loader, so look there first.
+     */
+    private static InputStream configResource() {
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        InputStream in = context == null ? null : context.getResourceAsStream("config.properties");
+        return in != null ? in : ToolkitConfig.class.getClassLoader().getResourceAsStream("config.properties");
     }
 
     private static String get(String sysPropKey, String envKey, Properties fileProps, String defaultVal) {
@@ -63,6 +159,18 @@ public final class ToolkitConfig {
         return BrowserName.valueOf(v);
     }
 
+    private static ReportMode parseReportMode(String value) {
+        return ReportMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static TracingMode parseTracingMode(String value) {
+        return TracingMode.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    private static ResultsFormat parseResultsFormat(String value) {
+        return ResultsFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
     private static boolean parseBool(String value) {
         return value.trim().equalsIgnoreCase("true");
     }
@@ -70,4 +178,15 @@ public final class ToolkitConfig {
     private static int parseInt(String value, int defaultVal) {
         try { return Integer.parseInt(value.trim()); } catch (Exception e) { return defaultVal; }
     }
+
+    private static Set<String> parseList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(v -> v.trim().toUpperCase(Locale.ROOT))
+                .filter(v -> !v.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static double parseDouble(String value, double defaultVal) {
+        try { return Double.parseDouble(value.trim()); } catch (Exception e) { return defaultVal; }
+    }
 }
\ No newline at end of file
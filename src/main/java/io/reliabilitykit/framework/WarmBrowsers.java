@@ -0,0 +1,88 @@
+package io.reliabilitykit.framework;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Playwright + Browser pairs parked between runs of a long-lived JVM ({@code rk daemon}).
+ *
+ * Lives in the main tree so it outlives the class loader each daemon run loads the tests
+ * with; BrowserManager takes slots from here instead of launching and parks them again at
+ * shutdown. Only active when {@code -Drk.keepBrowsers=true}. A parked pair is idle, so handing
+ * it to another thread next run keeps Playwright's one-thread-at-a-time rule.
+ */
+public final class WarmBrowsers {
+
+    public record Warm(Playwright playwright, Browser browser) {}
+
+    // Launch settings -> parked pairs; a run with other settings launches its own
+    private static final Map<String, Deque<Warm>> parked = new HashMap<>();
+
+    private WarmBrowsers() {}
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("rk.keepBrowsers");
+    }
+
+    /** What a parked browser must match to be reused. */
+    public static String key(ToolkitConfig config) {
+        return config.browser() + "|headless=" + config.headless() + "|slowMo=" + config.slowMoMs();
+    }
+
+    /** A parked pair for {@code key} that is still connected, or null. */
+    public static synchronized Warm take(String key) {
+        Deque<Warm> pairs = parked.get(key);
+        while (pairs != null && !pairs.isEmpty()) {
+            Warm warm = pairs.poll();
+            if (warm.browser().isConnected()) return warm;
+            closeQuietly(warm);
+        }
+        return null;
+    }
+
+    /** Keep a pair for the next run; its contexts are closed so no state carries over. */
+    public static void park(String key, Playwright playwright, Browser browser) {
+        Warm warm = new Warm(playwright, browser);
+        try {
+            for (BrowserContext ctx : browser.contexts()) ctx.close();
+        } catch (Exception e) {
+            closeQuietly(warm);
+            return;
+        }
+        synchronized (WarmBrowsers.class) {
+            parked.computeIfAbsent(key, k -> new ArrayDeque<>()).add(warm);
+        }
+    }
+
+    public static synchronized int parkedCount() {
+        return parked.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /** Close every parked browser (daemon stopping). */
+    public static synchronized int closeAll() {
+        int closed = 0;
+        for (Deque<Warm> pairs : parked.values()) {
+            for (Warm warm : pairs) {
+                closeQuietly(warm);
+                closed++;
+            }
+        }
+        parked.clear();
+        return closed;
+    }
+
+    private static void closeQuietly(Warm warm) {
+        try {
+            warm.browser().close();
+        } catch (Exception ignored) {}
+        try {
+            warm.playwright().close();
+        } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,64 @@
+package io.reliabilitykit.reporting;
+
+import java.util.Set;
+
+/**
+ * Opens when the environment looks down: at least {@code percent}% of the last {@code window}
+ * finished tests failed with one of the infrastructure failure types. Once open it stays open
+ * for the rest of the run, and tests that have not started yet are BLOCKED instead of each
+ * waiting out its own timeout.
+ */
+final class CircuitBreaker {
+
+    private final int window;
+    private final int percent;
+    private final Set<String> types;
+
+    // Ring of the last `window` outcomes, true = infrastructure failure; guarded by this
+    private final boolean[] ring;
+    private int next;
+    private int filled;
+    private int infraCount;
+
+    private volatile String openReason;
+
+    /** @param window 0 disables the breaker */
+    CircuitBreaker(int window, int percent, Set<String> types) {
+        this.window = Math.max(0, window);
+        this.percent = percent;
+        this.types = types;
+        this.ring = new boolean[this.window];
+    }
+
+    /**
+     * Record a finished test.
+     *
+     * @return the reason, on the call that opens the breaker; null otherwise
+     */
+    synchronized String record(TestResult t) {
+        if (window == 0 || openReason != null || "BLOCKED".equals(t.status())) return null;
+
+        boolean infra = "FAILED".equals(t.status()) && types.contains(t.failureType());
+        if (filled == window) {
+            if (ring[next]) infraCount--;
+        } else {
+            filled++;
+        }
+        ring[next] = infra;
+        if (infra) infraCount++;
+        next = (next + 1) % window;
+
+        if (filled < window || infraCount * 100 < percent * window) return null;
+        openReason = infraCount + " of the last " + window + " tests failed with " + String.join("/", types);
+        return openReason;
+    }
+
+    /** Why tests are being blocked, or null while the breaker is closed. */
+    String openReason() {
+        return openReason;
+    }
+
+    String describe() {
+        return window == 0 ? "off" : "window=" + window + " threshold=" + percent + "% types=" + String.join("/", types);
+    }
+}
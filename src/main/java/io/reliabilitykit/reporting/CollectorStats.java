@@ -0,0 +1,9 @@
+package io.reliabilitykit.reporting;
+
+public record CollectorStats(
+        long logsAppended,
+        long testsAppended,
+        long contendedAppends,  // CAS retries across producers
+        long drainBatches,
+        double logsPerSecond
+) {}
@@ -0,0 +1,80 @@
+package io.reliabilitykit.reporting;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Lock-free multi-producer / single-consumer queue.
+ *
+ * Producers push onto a Treiber stack with a single CAS; the consumer detaches the
+ * whole stack with getAndSet and reverses it, so a drain returns items in push order.
+ * Failed CAS attempts are counted as contention.
+ *
+ * {@link #offerStamped} takes the timestamp after reading the head and retakes it on every
+ * failed CAS. A successful CAS means nothing was pushed since that read, so push order is
+ * timestamp order across producers and across drains -- the consumer never has to sort.
+ */
+final class EventPipeline<T> {
+
+    private static final class Node<T> {
+        T value;
+        Node<T> next;
+    }
+
+    private final AtomicReference<Node<T>> head = new AtomicReference<>();
+
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    // consumer-side only
+    private volatile long drained;
+    private volatile long batches;
+
+    void offer(T value) {
+        Node<T> node = new Node<>();
+        node.value = value;
+        while (true) {
+            Node<T> h = head.get();
+            node.next = h;
+            if (head.compareAndSet(h, node)) break;
+            contended.increment();
+        }
+        offered.increment();
+    }
+
+    void offerStamped(Function<Instant, T> stamp) {
+        Node<T> node = new Node<>();
+        while (true) {
+            Node<T> h = head.get();
+            node.value = stamp.apply(Instant.now());
+            node.next = h;
+            if (head.compareAndSet(h, node)) break;
+            contended.increment();
+        }
+        offered.increment();
+    }
+
+    /** Must only be called by one consumer at a time. */
+    List<T> drain() {
+        Node<T> n = head.getAndSet(null);
+        if (n == null) return List.of();
+
+        List<T> out = new ArrayList<>();
+        for (; n != null; n = n.next) out.add(n.value);
+        Collections.reverse(out);
+
+        drained += out.size();
+        batches++;
+        return out;
+    }
+
+    long offered() { return offered.sum(); }
+    long contended() { return contended.sum(); }
+    long drained() { return drained; }
+    long batches() { return batches; }
+}
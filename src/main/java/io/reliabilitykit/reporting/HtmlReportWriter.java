@@ -1,73 +1,233 @@
 package io.reliabilitykit.reporting;
 
+import io.reliabilitykit.framework.ToolkitConfig;
+
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class HtmlReportWriter {
 
+    private static final int TOP_K = 10;
+
+    // Past this many tests a single report.html gets slow to open; AUTO switches to paged output
+    static final int AUTO_PAGED_MIN_TESTS = 2000;
+
+    // Same orderings the report has always used; the index keeps ties in run order like the old stable sorts
+    private static final Comparator<Ranked> SLOWEST = Comparator
+            .comparingLong((Ranked r) -> r.test().durationMs()).reversed()
+            .thenComparingInt(Ranked::index);
+
+    // Top failures ordering (by type, then longest duration)
+    private static final Comparator<Ranked> TOP_FAILURES = Comparator
+            .comparing((Ranked r) -> nullSafe(r.test().failureType()))
+            .thenComparingLong(r -> r.test().durationMs()).reversed()
+            .thenComparingInt(Ranked::index);
+
+    // Row layout is [status, testId, durationMs, failureType, failureHint, errorMessage, screenshot, trace,
+    // attempts], see ReportPages. Only visible rows (plus overscan) exist in the DOM, and only a few pages stay loaded.
+    private static final String VIRTUAL_TABLE_JS = """
+            (function () {
+              var ROW = 36, OVERSCAN = 10, KEEP_PAGES = 12;
+              var cfg = JSON.parse(document.getElementById('rk-pages').textContent);
+              var viewport = document.getElementById('vt');
+              var rowsEl = document.getElementById('vt-rows');
+              var detail = document.getElementById('vt-detail');
+              var pages = new Map(), loading = new Set(), failed = new Set(), scheduled = false, selected = -1;
+
+              document.getElementById('vt-spacer').style.height = (cfg.total * ROW) + 'px';
+
+              window.rkReportPage = function (n, rows) {
+                loading.delete(n);
+                pages.set(n, rows);
+                while (pages.size > KEEP_PAGES) pages.delete(pages.keys().next().value);
+                schedule();
+              };
+
+              function file(n) {
+                return cfg.dir + '/tests-' + String(n).padStart(5, '0') + '.js';
+              }
+
+              // A page that failed to load shows an error until the next scroll tries it again
+              function load(n) {
+                if (loading.has(n)) return;
+                loading.add(n);
+                var s = document.createElement('script');
+                s.src = file(n);
+                s.onload = s.onerror = function () {
+                  s.remove();
+                  if (pages.has(n)) return;
+                  loading.delete(n);
+                  failed.add(n);
+                  schedule();
+                };
+                document.head.appendChild(s);
+              }
+
+              function page(n) {
+                var rows = pages.get(n);
+                if (!rows) { if (!failed.has(n)) load(n); return null; }
+                pages.delete(n);
+                pages.set(n, rows);
+                return rows;
+              }
+
+              function cell(parent, text, cls) {
+                var el = document.createElement('div');
+                if (cls) el.className = cls;
+                el.textContent = text == null ? '' : String(text);
+                parent.appendChild(el);
+                return el;
+              }
+
+              function links(parent, r) {
+                [[r[6], 'screenshot'], [r[7], 'trace']].forEach(function (l) {
+                  if (!l[0]) return;
+                  var a = document.createElement('a');
+                  a.href = l[0];
+                  a.textContent = l[1];
+                  a.onclick = function (e) { e.stopPropagation(); };
+                  parent.appendChild(a);
+                });
+              }
+
+              function show(i, r) {
+                selected = i;
+                detail.className = 'vt-detail';
+                detail.replaceChildren();
+                var h = document.createElement('h3');
+                h.textContent = r[1];
+                detail.appendChild(h);
+                cell(detail, r[0] + (r[3] ? ' - ' + r[3] : ''), 'status ' + r[0]);
+                if (r[4]) cell(detail, r[4], 'muted small');
+                if (r[5]) detail.appendChild(document.createElement('pre')).textContent = r[5];
+                if (r[8]) cell(detail, 'Attempts: ' + r[8], 'small');
+                links(cell(detail, '', 'links'), r);
+                schedule();
+              }
+
+              function render() {
+                scheduled = false;
+                var first = Math.max(0, Math.floor(viewport.scrollTop / ROW) - OVERSCAN);
+                var last = Math.min(cfg.total, Math.ceil((viewport.scrollTop + viewport.clientHeight) / ROW) + OVERSCAN);
+                var frag = document.createDocumentFragment();
+                for (var i = first; i < last; i++) {
+                  var n = Math.floor(i / cfg.pageSize), rows = page(n);
+                  var row = document.createElement('div');
+                  row.className = i === selected ? 'vt-row selected' : 'vt-row';
+                  if (!rows) {
+                    cell(row, failed.has(n) ? 'failed to load ' + file(n) + ', scroll to retry' : 'loading...', 'muted');
+                  } else {
+                    var r = rows[i - n * cfg.pageSize];
+                    cell(row, r[0], 'status ' + r[0]);
+                    cell(row, r[1]).title = r[1];
+                    cell(row, r[2]);
+                    cell(row, r[3]);
+                    links(cell(row, '', 'links'), r);
+                    row.onclick = show.bind(null, i, r);
+                  }
+                  frag.appendChild(row);
+                }
+                rowsEl.style.transform = 'translateY(' + (first * ROW) + 'px)';
+                rowsEl.replaceChildren(frag);
+              }
+
+              function schedule() {
+                if (scheduled) return;
+                scheduled = true;
+                requestAnimationFrame(render);
+              }
+
+              viewport.addEventListener('scroll', function () { failed.clear(); schedule(); }, { passive: true });
+              window.addEventListener('resize', schedule);
+              schedule();
+            })();
+            """;
+
     private HtmlReportWriter() {}
 
     public static void write(RunResult run, Path resultsJsonPath) throws Exception {
         Path runDir = resultsJsonPath.getParent();
         Path out = runDir.resolve("report.html");
+        ToolkitConfig config = ToolkitConfig.load();
+
+        ReportPages.clear(runDir);
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            if (paged(config, run)) {
+                try (ReportPages pages = ReportPages.open(runDir, config.reportPageSize())) {
+                    renderPaged(run, pages, w);
+                }
+            } else {
+                render(run, w);
+            }
+        }
+    }
+
+    private static boolean paged(ToolkitConfig config, RunResult run) {
+        return switch (config.reportMode()) {
+            case INLINE -> false;
+            case PAGED -> true;
+            case AUTO -> run.tests().size() > AUTO_PAGED_MIN_TESTS;
+        };
+    }
+
+    /**
+     * Streams the report to {@code w}. One pass over the tests collects the counts and the
+     * bounded top-10 lists for the highlights; the full table is then written row by row, so
+     * memory stays flat no matter how many tests or how long their error messages are.
+     */
+    static void render(RunResult run, Writer w) throws IOException {
+        Highlights highlights = new Highlights();
+        for (TestResult t : run.tests()) highlights.accept(t);
+
+        writeOverview(run, highlights, w);
+        writeTestTable(run, w);
+        writeFooter(w);
+    }
+
+    /**
+     * Paged variant: the same single pass also streams each row into {@code pages}, and the
+     * "All Tests" section becomes a virtual-scrolling table that pulls pages in as they scroll
+     * into view. report.html stays the same size however many tests the run has.
+     */
+    static void renderPaged(RunResult run, ReportPages pages, Writer w) throws IOException {
+        Highlights highlights = new Highlights();
+        for (TestResult t : run.tests()) {
+            highlights.accept(t);
+            pages.add(t);
+        }
+        pages.close();
 
-        String html = buildHtml(run);
-        Files.writeString(out, html, StandardCharsets.UTF_8);
+        writeOverview(run, highlights, w);
+        writePagedTable(pages, w);
+        writeFooter(w);
     }
 
-    private static String buildHtml(RunResult run) {
+    private static void writeOverview(RunResult run, Highlights highlights, Writer w) throws IOException {
         int total = safe(run.summary().total());
         int passed = safe(run.summary().passed());
         int failed = safe(run.summary().failed());
+        int flaky = safe(run.summary().flaky());
+        int blocked = safe(run.summary().blocked());
 
         double passRate = (total <= 0) ? 0.0 : (passed * 100.0 / total);
 
-        // Top failures (FAILED only)
-        List<TestResult> failures = run.tests().stream()
-                .filter(t -> "FAILED".equalsIgnoreCase(nullSafe(t.status())))
-                .collect(Collectors.toList());
+        List<TestResult> slowest = highlights.slowest.sorted();
+        List<TestResult> topFailures = highlights.failures.sorted();
+        List<Map.Entry<String, Long>> breakdown = highlights.breakdown();
 
-        // Slowest tests (all)
-        List<TestResult> slowest = run.tests().stream()
-                .sorted(Comparator.comparingLong(TestResult::durationMs).reversed())
-                .limit(10)
-                .collect(Collectors.toList());
-
-        // Failure breakdown by failureType
-        Map<String, Long> failureBreakdown = failures.stream()
-                .collect(Collectors.groupingBy(
-                        t -> {
-                            String ft = t.failureType();
-                            return (ft == null || ft.isBlank()) ? "UNKNOWN" : ft;
-                        },
-                        Collectors.counting()
-                ));
-
-        List<Map.Entry<String, Long>> failureBreakdownSorted = failureBreakdown.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .toList();
-
-        // Top failures ordering (by type, then longest duration)
-        List<TestResult> topFailures = failures.stream()
-                .sorted(Comparator
-                        .comparing((TestResult t) -> nullSafe(t.failureType()))
-                        .thenComparingLong(TestResult::durationMs).reversed()
-                )
-                .limit(10)
-                .collect(Collectors.toList());
-
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("""
+        w.append("""
                 <!doctype html>
                 <html lang="en">
                 <head>
                   <meta charset="utf-8"/>
                   <meta name="viewport" content="width=device-width, initial-scale=1"/>
-                  <title>ReliabilityKit Report - """).append(escape(run.runId())).append("""
+                  <title>ReliabilityKit Report - """);
+        escape(w, run.runId());
+        w.append("""
                 </title>
                   <style>
                     :root {
@@ -120,6 +280,8 @@ public final class HtmlReportWriter {
                     .status { font-weight: 800; font-size: 12px; letter-spacing: 0.3px; }
                     .PASSED { color: var(--passed); }
                     .FAILED { color: var(--failed); }
+                    .FLAKY { color: var(--warn); }
+                    .BLOCKED { color: var(--muted); }
                     .links a { margin-right: 10px; }
                     .small { font-size: 12px; }
                     details { margin-top: 6px; }
@@ -154,26 +316,49 @@ public final class HtmlReportWriter {
                 """);
 
         // Header
-        sb.append("""
+        w.append("""
                 <div class="header">
                   <div>
                     <h1>ReliabilityKit Run Report</h1>
-                    <div class="muted">Run ID: <strong>""").append(escape(run.runId())).append("""
+                    <div class="muted">Run ID: <strong>""");
+        escape(w, run.runId());
+        w.append("""
                     </strong></div>
                     <div class="run-meta muted">
-                      Started:""").append(escape(run.startedAtIso())).append("""
+                      Started:""");
+        escape(w, run.startedAtIso());
+        w.append("""
                       <br/>
-                      Finished:""").append(escape(run.finishedAtIso())).append("""
+                      Finished:""");
+        escape(w, run.finishedAtIso());
+        w.append("""
                       <br/>
-                      Duration:""").append(run.durationMs()).append(""" 
+                      Duration:""");
+        w.write(String.valueOf(run.durationMs()));
+        w.append(""" 
                     ms
                     </div>
                   </div>
                   <div class="kpi">
-                    <span class="badge"><span class="dot pass"></span>Passed: <strong>""").append(passed).append("""
+                    <span class="badge"><span class="dot pass"></span>Passed: <strong>""");
+        w.write(String.valueOf(passed));
+        w.append("""
                     </strong></span>
-                    <span class="badge"><span class="dot fail"></span>Failed: <strong>""").append(failed).append("""
+                    <span class="badge"><span class="dot fail"></span>Failed: <strong>""");
+        w.write(String.valueOf(failed));
+        w.append("""
                     </strong></span>
+                    <span class="badge"><span class="dot warn"></span>Flaky: <strong>""");
+        w.write(String.valueOf(flaky));
+        w.append("""
+                    </strong></span>
+                """);
+        if (blocked > 0) {
+            w.write("<span class=\"badge\"><span class=\"dot\" style=\"background: var(--muted);\"></span>Blocked: <strong>");
+            w.write(String.valueOf(blocked));
+            w.write("</strong></span>\n");
+        }
+        w.append("""
                     <span class="badge"><span class="dot warn"></span>Pass rate: <strong>""").append(String.format(Locale.ROOT, "%.1f", passRate)).append("""
                   %</strong></span>
                   </div>
@@ -181,67 +366,92 @@ public final class HtmlReportWriter {
                 """);
 
         // Summary cards
-        sb.append("""
+        w.append("""
                 <div class="cards">
                   <div class="card">
                     <div class="label">Total</div>
-                    <div class="value">""").append(total).append("""
+                    <div class="value">""");
+        w.write(String.valueOf(total));
+        w.append("""
                   </div>
                   </div>
                   <div class="card">
                     <div class="label">Passed</div>
-                    <div class="value">""").append(passed).append("""
+                    <div class="value">""");
+        w.write(String.valueOf(passed));
+        w.append("""
+                  </div>
+                  </div>
+                  <div class="card">
+                    <div class="label">Flaky (passed on retry)</div>
+                    <div class="value">""");
+        w.write(String.valueOf(flaky));
+        w.append("""
                   </div>
                   </div>
                   <div class="card">
                     <div class="label">Failed</div>
-                    <div class="value">""").append(failed).append("""
+                    <div class="value">""");
+        w.write(String.valueOf(failed));
+        w.append("""
                   </div>
                   </div>
                   <div class="card">
                     <div class="label">Duration (ms)</div>
-                    <div class="value">""").append(run.durationMs()).append("""
+                    <div class="value">""");
+        w.write(String.valueOf(run.durationMs()));
+        w.append("""
                   </div>
                   </div>
                 </div>
                 """);
 
         // Environment
-        sb.append("""
+        w.append("""
                 <h2>Environment</h2>
                 <table>
                   <tbody>
-                    <tr><th>Base URL</th><td>""").append(escape(run.meta().baseUrl())).append("""
+                    <tr><th>Base URL</th><td>""");
+        escape(w, run.meta().baseUrl());
+        w.append("""
                     </td></tr>
-                    <tr><th>Browser</th><td>""").append(escape(run.meta().browser())).append("""
+                    <tr><th>Browser</th><td>""");
+        escape(w, run.meta().browser());
+        w.append("""
                     </td></tr>
-                    <tr><th>Headless</th><td>""").append(run.meta().headless()).append("""
+                    <tr><th>Headless</th><td>""");
+        w.write(String.valueOf(run.meta().headless()));
+        w.append("""
                     </td></tr>
-                    <tr><th>SlowMo (ms)</th><td>""").append(run.meta().slowMoMs()).append("""
+                    <tr><th>SlowMo (ms)</th><td>""");
+        w.write(String.valueOf(run.meta().slowMoMs()));
+        w.append("""
                     </td></tr>
-                    <tr><th>Timeout (ms)</th><td>""").append(run.meta().timeoutMs()).append("""
+                    <tr><th>Timeout (ms)</th><td>""");
+        w.write(String.valueOf(run.meta().timeoutMs()));
+        w.append("""
                   </td></tr>
                   </tbody>
                 </table>
                 """);
 
         // Top failures + Slowest tests
-        sb.append("""
+        w.append("""
                 <h2>Highlights</h2>
                 <div class="grid-2">
                 """);
 
         // Top failures table
-        sb.append("""
+        w.append("""
                 <div>
                     <h3>Top Failures</h3>
                     <div class="section-note">Most actionable failures first. Includes artifact links when available.</div>
                 """);
 
         if (topFailures.isEmpty()) {
-            sb.append("<div class=\"muted\" style=\"margin-top:10px;\">No failures in this run 🎉</div>");
+            w.write("<div class=\"muted\" style=\"margin-top:10px;\">No failures in this run 🎉</div>");
         } else {
-            sb.append("""
+            w.append("""
                     <table>
                       <thead>
                         <tr>
@@ -255,41 +465,49 @@ public final class HtmlReportWriter {
                     """);
 
             for (TestResult t : topFailures) {
-                sb.append("<tr>");
-                sb.append("<td>").append(escape(t.testId())).append("</td>");
-                sb.append("<td>");
-                sb.append("<div><strong>").append(escape(nullSafe(t.failureType()).isBlank() ? "UNKNOWN" : t.failureType())).append("</strong></div>");
+                w.write("<tr>");
+                w.write("<td>");
+                escape(w, t.testId());
+                w.write("</td>");
+                w.write("<td>");
+                w.write("<div><strong>");
+                escape(w, nullSafe(t.failureType()).isBlank() ? "UNKNOWN" : t.failureType());
+                w.write("</strong></div>");
                 if (t.failureHint() != null && !t.failureHint().isBlank()) {
-                    sb.append("<div class=\"muted small\">").append(escape(t.failureHint())).append("</div>");
+                    w.write("<div class=\"muted small\">");
+                    escape(w, t.failureHint());
+                    w.write("</div>");
                 }
-                sb.append("</td>");
-                sb.append("<td>").append(t.durationMs()).append("</td>");
+                w.write("</td>");
+                w.write("<td>");
+                w.write(String.valueOf(t.durationMs()));
+                w.write("</td>");
 
-                sb.append("<td class=\"links\">");
-                sb.append(artifactLinksHtml(t));
-                sb.append("</td>");
+                w.write("<td class=\"links\">");
+                artifactLinks(w, t);
+                w.write("</td>");
 
-                sb.append("</tr>");
+                w.write("</tr>");
             }
 
-            sb.append("""
+            w.append("""
                       </tbody>
                     </table>
                     """);
         }
-        sb.append("</div>"); // end left column
+        w.write("</div>"); // end left column
 
         // Slowest tests table
-        sb.append("""
+        w.append("""
                 <div>
                     <h3>Slowest Tests</h3>
                     <div class="section-note">Top 10 by duration. Use this to target performance and stability improvements.</div>
                 """);
 
         if (slowest.isEmpty()) {
-            sb.append("<div class=\"muted\" style=\"margin-top:10px;\">No tests recorded.</div>");
+            w.write("<div class=\"muted\" style=\"margin-top:10px;\">No tests recorded.</div>");
         } else {
-            sb.append("""
+            w.append("""
                     <table>
                       <thead>
                         <tr>
@@ -303,32 +521,40 @@ public final class HtmlReportWriter {
 
             for (TestResult t : slowest) {
                 String status = nullSafe(t.status());
-                sb.append("<tr>");
-                sb.append("<td class=\"status ").append(escapeAttr(status)).append("\">").append(escape(status)).append("</td>");
-                sb.append("<td>").append(escape(t.testId())).append("</td>");
-                sb.append("<td>").append(t.durationMs()).append("</td>");
-                sb.append("</tr>");
+                w.write("<tr>");
+                w.write("<td class=\"status ");
+                escapeAttr(w, status);
+                w.write("\">");
+                escape(w, status);
+                w.write("</td>");
+                w.write("<td>");
+                escape(w, t.testId());
+                w.write("</td>");
+                w.write("<td>");
+                w.write(String.valueOf(t.durationMs()));
+                w.write("</td>");
+                w.write("</tr>");
             }
 
-            sb.append("""
+            w.append("""
                       </tbody>
                     </table>
                     """);
         }
-        sb.append("</div>"); // end right column
+        w.write("</div>"); // end right column
 
-        sb.append("</div>"); // end grid-2
+        w.write("</div>"); // end grid-2
 
         // Failure breakdown
-        sb.append("""
+        w.append("""
                 <h2>Failure Breakdown</h2>
                 <div class="section-note">Counts by failure type for this run.</div>
                 """);
 
-        if (failureBreakdownSorted.isEmpty()) {
-            sb.append("<div class=\"muted\" style=\"margin-top:10px;\">No failures in this run.</div>");
+        if (breakdown.isEmpty()) {
+            w.write("<div class=\"muted\" style=\"margin-top:10px;\">No failures in this run.</div>");
         } else {
-            sb.append("""
+            w.append("""
                     <table>
                       <thead>
                         <tr>
@@ -339,21 +565,28 @@ public final class HtmlReportWriter {
                       <tbody>
                     """);
 
-            for (var e : failureBreakdownSorted) {
-                sb.append("<tr>");
-                sb.append("<td>").append(escape(e.getKey())).append("</td>");
-                sb.append("<td>").append(e.getValue()).append("</td>");
-                sb.append("</tr>");
+            for (var e : breakdown) {
+                w.write("<tr>");
+                w.write("<td>");
+                escape(w, e.getKey());
+                w.write("</td>");
+                w.write("<td>");
+                w.write(String.valueOf(e.getValue()));
+                w.write("</td>");
+                w.write("</tr>");
             }
 
-            sb.append("""
+            w.append("""
                       </tbody>
                     </table>
                     """);
         }
 
+    }
+
+    private static void writeTestTable(RunResult run, Writer w) throws IOException {
         // All tests (full table)
-        sb.append("""
+        w.append("""
                 <h2>All Tests</h2>
                 <table>
                   <thead>
@@ -370,65 +603,237 @@ public final class HtmlReportWriter {
 
         for (TestResult t : run.tests()) {
             String status = nullSafe(t.status());
-            sb.append("<tr>");
-            sb.append("<td class=\"status ").append(escapeAttr(status)).append("\">").append(escape(status)).append("</td>");
-            sb.append("<td>").append(escape(t.testId())).append("</td>");
-            sb.append("<td>").append(t.durationMs()).append("</td>");
-            sb.append("<td>").append(t.failureType() == null ? "" : escape(t.failureType())).append("</td>");
-            sb.append("<td class=\"links\">").append(artifactLinksHtml(t)).append("</td>");
-            sb.append("</tr>");
+            w.write("<tr>");
+            w.write("<td class=\"status ");
+            escapeAttr(w, status);
+            w.write("\">");
+            escape(w, status);
+            w.write("</td>");
+            w.write("<td>");
+            escape(w, t.testId());
+            w.write("</td>");
+            w.write("<td>");
+            w.write(String.valueOf(t.durationMs()));
+            w.write("</td>");
+            w.write("<td>");
+            escape(w, t.failureType());
+            w.write("</td>");
+            w.write("<td class=\"links\">");
+            artifactLinks(w, t);
+            w.write("</td>");
+            w.write("</tr>");
 
             if ("FAILED".equalsIgnoreCase(status)) {
-                sb.append("<tr><td colspan=\"5\">");
-                sb.append("<details open><summary><strong>Error</strong>");
-                if (t.failureHint() != null) sb.append(" — ").append(escape(t.failureHint()));
-                sb.append("</summary>");
+                w.write("<tr><td colspan=\"5\">");
+                w.write("<details open><summary><strong>Error</strong>");
+                if (t.failureHint() != null) {
+                    w.write(" — ");
+                    escape(w, t.failureHint());
+                }
+                w.write("</summary>");
                 if (t.errorMessage() != null) {
-                    sb.append("<pre>").append(escape(t.errorMessage())).append("</pre>");
+                    w.write("<pre>");
+                    escape(w, t.errorMessage());
+                    w.write("</pre>");
+                }
+                attemptList(w, t);
+                w.write("</details>");
+                w.write("</td></tr>");
+            } else if ("BLOCKED".equalsIgnoreCase(status)) {
+                w.write("<tr><td colspan=\"5\" class=\"muted small\">");
+                escape(w, t.errorMessage());
+                w.write("</td></tr>");
+            } else if ("FLAKY".equalsIgnoreCase(status)) {
+                // Green in the end, so collapsed; the failure it recovered from is still one click away
+                w.write("<tr><td colspan=\"5\">");
+                w.write("<details><summary><strong>Passed on attempt ");
+                w.write(String.valueOf(t.attempts() == null ? 2 : t.attempts().size()));
+                w.write("</strong>");
+                if (t.failureHint() != null) {
+                    w.write(" — ");
+                    escape(w, t.failureHint());
                 }
-                sb.append("</details>");
-                sb.append("</td></tr>");
+                w.write("</summary>");
+                attemptList(w, t);
+                w.write("</details>");
+                w.write("</td></tr>");
             }
         }
 
-        sb.append("""
+        w.append("""
                   </tbody>
                 </table>
+                """);
+    }
+
+    private static void writePagedTable(ReportPages pages, Writer w) throws IOException {
+        String manifest = "{\"dir\":\"" + ReportPages.DIR_NAME + "\",\"pageSize\":" + pages.pageSize()
+                + ",\"total\":" + pages.total() + "}";
+
+        w.append("""
+                <h2>All Tests</h2>
+                """);
+        w.write("<div class=\"section-note\">" + pages.total()
+                + " tests, loaded on demand. Click a row for its error and artifacts.</div>");
+        w.append("""
+                <style>
+                  .vt { position: relative; height: 70vh; overflow-y: auto; border: 1px solid var(--border); border-radius: 0 0 12px 12px; }
+                  .vt-rows { position: absolute; top: 0; left: 0; right: 0; will-change: transform; }
+                  .vt-head, .vt-row { display: grid; grid-template-columns: 90px minmax(0, 3fr) 120px minmax(0, 1.5fr) 160px; }
+                  .vt-head > div, .vt-row > div {
+                    box-sizing: border-box; height: 36px; line-height: 35px; padding: 0 10px;
+                    overflow: hidden; white-space: nowrap; text-overflow: ellipsis; border-bottom: 1px solid #eee;
+                  }
+                  .vt-head { margin-top: 12px; }
+                  .vt-head > div { background: #fafafa; font-weight: 700; }
+                  .vt-row { cursor: pointer; }
+                  .vt-row:hover, .vt-row.selected { background: #f7f7f7; }
+                  .vt-detail { margin-top: 12px; }
+                </style>
+                <div class="vt-head"><div>Status</div><div>Test</div><div>Duration (ms)</div><div>Failure Type</div><div>Artifacts</div></div>
+                <div id="vt" class="vt"><div id="vt-spacer"></div><div id="vt-rows" class="vt-rows"></div></div>
+                <div id="vt-detail" class="vt-detail muted">Select a test to see its error and artifacts.</div>
+                """);
+        w.write("<script type=\"application/json\" id=\"rk-pages\">" + manifest + "</script>\n");
+        w.append("<script>\n").append(VIRTUAL_TABLE_JS).append("</script>\n");
+    }
+
+    private static void writeFooter(Writer w) throws IOException {
+        w.append("""
 
                 <p class="muted" style="margin-top: 18px;">Generated by ReliabilityKit</p>
                 </body>
                 </html>
                 """);
+    }
 
-        return sb.toString();
+    private static void attemptList(Writer w, TestResult t) throws IOException {
+        if (t.attempts() == null || t.attempts().isEmpty()) return;
+        w.write("<ol class=\"small\">");
+        for (TestAttempt a : t.attempts()) {
+            w.write("<li><span class=\"status ");
+            escapeAttr(w, a.status());
+            w.write("\">");
+            escape(w, a.status());
+            w.write("</span> ");
+            w.write(String.valueOf(a.durationMs()));
+            w.write(" ms");
+            if (a.failureType() != null) {
+                w.write(" · ");
+                escape(w, a.failureType());
+            }
+            if (a.errorMessage() != null) {
+                w.write("<pre>");
+                escape(w, a.errorMessage());
+                w.write("</pre>");
+            }
+            w.write("</li>");
+        }
+        w.write("</ol>");
     }
 
-    private static String artifactLinksHtml(TestResult t) {
-        if (t.artifacts() == null) return "";
-        StringBuilder links = new StringBuilder();
+    private static void artifactLinks(Writer w, TestResult t) throws IOException {
+        if (t.artifacts() == null) return;
 
         // IMPORTANT: report.html is inside results/<runId>/, same level as artifacts/
         // So artifact paths should be relative like "artifacts/...".
         if (t.artifacts().screenshotPath() != null && !t.artifacts().screenshotPath().isBlank()) {
-            links.append("<a href=\"").append(escapeAttr(t.artifacts().screenshotPath())).append("\">screenshot</a>");
+            w.write("<a href=\"");
+            escapeAttr(w, t.artifacts().screenshotPath());
+            w.write("\">screenshot</a>");
         }
         if (t.artifacts().tracePath() != null && !t.artifacts().tracePath().isBlank()) {
-            links.append("<a href=\"").append(escapeAttr(t.artifacts().tracePath())).append("\">trace</a>");
+            w.write("<a href=\"");
+            escapeAttr(w, t.artifacts().tracePath());
+            w.write("\">trace</a>");
         }
-        return links.toString();
     }
 
     private static int safe(int v) { return Math.max(0, v); }
 
     private static String nullSafe(String s) { return s == null ? "" : s; }
 
-    private static String escape(String s) {
-        if (s == null) return "";
-        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    private static void escape(Writer w, String s) throws IOException {
+        escape(w, s, false);
+    }
+
+    private static void escapeAttr(Writer w, String s) throws IOException {
+        escape(w, s, true);
+    }
+
+    // Writes unescaped runs straight through instead of building replaced copies of the string
+    private static void escape(Writer w, String s, boolean attr) throws IOException {
+        if (s == null) return;
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String entity = switch (s.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> attr ? "&quot;" : null;
+                default -> null;
+            };
+            if (entity == null) continue;
+            w.write(s, from, i - from);
+            w.write(entity);
+            from = i + 1;
+        }
+        w.write(s, from, s.length() - from);
+    }
+
+    /** Everything the overview needs, gathered in one pass over the tests. */
+    private static final class Highlights {
+        final TopK slowest = new TopK(SLOWEST);
+        final TopK failures = new TopK(TOP_FAILURES);
+        private final Map<String, Long> failureBreakdown = new HashMap<>();
+        private int index;
+
+        void accept(TestResult t) {
+            slowest.offer(index, t);
+            if ("FAILED".equalsIgnoreCase(nullSafe(t.status()))) {
+                failures.offer(index, t);
+                String ft = t.failureType();
+                failureBreakdown.merge((ft == null || ft.isBlank()) ? "UNKNOWN" : ft, 1L, Long::sum);
+            }
+            index++;
+        }
+
+        // Failure breakdown by failureType
+        List<Map.Entry<String, Long>> breakdown() {
+            return failureBreakdown.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .toList();
+        }
     }
 
-    private static String escapeAttr(String s) {
-        if (s == null) return "";
-        return escape(s).replace("\"", "&quot;");
+    private record Ranked(int index, TestResult test) {}
+
+    /** Keeps the first {@link #TOP_K} tests under {@code order}; the heap head is the one to evict next. */
+    private static final class TopK {
+        private final Comparator<Ranked> order;
+        private final PriorityQueue<Ranked> heap;
+
+        TopK(Comparator<Ranked> order) {
+            this.order = order;
+            this.heap = new PriorityQueue<>(TOP_K + 1, order.reversed());
+        }
+
+        void offer(int index, TestResult t) {
+            Ranked r = new Ranked(index, t);
+            if (heap.size() < TOP_K) {
+                heap.add(r);
+            } else if (order.compare(r, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(r);
+            }
+        }
+
+        List<TestResult> sorted() {
+            List<Ranked> ranked = new ArrayList<>(heap);
+            ranked.sort(order);
+            List<TestResult> out = new ArrayList<>(ranked.size());
+            for (Ranked r : ranked) out.add(r.test());
+            return out;
+        }
     }
-}
\ No newline at end of file
+}
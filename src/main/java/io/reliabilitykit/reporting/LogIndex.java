@@ -0,0 +1,505 @@
+package io.reliabilitykit.reporting;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Index over the logs of a finished run, {@code logs.rki} next to results.json / results.rkb,
+ * so {@code rk logs} filters millions of lines by reading only the ones that can match.
+ * Layout, big-endian:
+ *
+ * <pre>
+ * "RKI" version:u8
+ * source:    name:str size:i64 modifiedMs:i64    rebuilt when the results file no longer matches
+ * count:i32
+ * dict:      n:i32, n x str                     results.rkb string dictionary, empty for JSON
+ * records:   count x (offset:i64 baseNanos:i64)  where each log starts in the results file (in JSON,
+ *                                                maybe at the separator before it)
+ * levels:    one postings list per LogLevel
+ * scopes, tests: n:i32, n x (key:str postings)
+ * unindexed: postings                           logs with tokens left out of the token index
+ * digits:    110 postings lists                  logs with a number containing digit d (0-9) or pair dd (10 + dd)
+ * tokens:    n:i32, n x (key:str postings)
+ * </pre>
+ *
+ * {@code str} is byte length:i32 then UTF-8. Postings are count:i32 byteLength:i32, then the log
+ * numbers in ascending order as varint deltas. Tokens are the letter/digit runs of lowercased
+ * messages; a {@code --contains} text narrows the search to logs that have, for each of its own
+ * runs, some token containing it. Plain numbers (durations, counters, ports) would make up most
+ * distinct tokens, so they only go into the digit lists. The index only ever has to over-match:
+ * callers check every log they read back against the real filters.
+ */
+public final class LogIndex implements Closeable {
+
+    public static final String FILE_NAME = "logs.rki";
+
+    private static final byte[] MAGIC = {'R', 'K', 'I'};
+    private static final int VERSION = 1;
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    // Bounds the token map for logs full of ids and hashes; logs past either limit go to 'unindexed'
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int MAX_TOKENS = 1 << 20;
+
+    private static final int RECORD_BYTES = 16;
+    private static final int DIGIT_LISTS = 110;
+    private static final int WINDOW_BYTES = 64 * 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final boolean archive;
+    private final FileChannel results;
+    private final ByteBuffer index;
+    private final int count;
+    private final List<String> dict;
+    private final int recordsAt;
+    private final int[] levels;
+    private final Map<String, Integer> scopes;
+    private final Map<String, Integer> tests;
+    private final int unindexed;
+    private final int[] digits;
+    private final int tokensAt;
+    private Map<String, Integer> tokens;  // only read for --contains
+
+    // Logs are mostly read in order, several per block, so reads go through one cached block
+    private final long resultsSize;
+    private byte[] window = new byte[0];
+    private long windowAt;
+
+    private LogIndex(Path resultsFile, Path indexFile) throws IOException {
+        try (FileChannel ch = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Log index too large: " + indexFile);
+            index = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+        index.position(MAGIC.length + 1);
+        str(index);
+        index.position(index.position() + 16);
+
+        count = index.getInt();
+        int n = index.getInt();
+        dict = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) dict.add(str(index));
+
+        recordsAt = index.position();
+        index.position(recordsAt + count * RECORD_BYTES);
+        levels = new int[LEVELS.length];
+        for (int i = 0; i < levels.length; i++) levels[i] = skipPostings(index);
+        scopes = keys(index);
+        tests = keys(index);
+        unindexed = skipPostings(index);
+        digits = new int[DIGIT_LISTS];
+        for (int i = 0; i < digits.length; i++) digits[i] = skipPostings(index);
+        tokensAt = index.position();
+
+        archive = resultsFile.getFileName().toString().equals(RunArchive.FILE_NAME);
+        results = FileChannel.open(resultsFile, StandardOpenOption.READ);
+        resultsSize = results.size();
+    }
+
+    /**
+     * Index of {@code resultsFile}'s logs, first (re)building {@link #FILE_NAME} if it is missing or
+     * was built from a different version of the file. Null for a journal, whose run is still
+     * going, or if the index can't be written.
+     */
+    public static LogIndex open(Path resultsFile) throws IOException {
+        if (resultsFile.getFileName().toString().equals(ResultsJournal.FILE_NAME)) return null;
+
+        Path file = resultsFile.resolveSibling(FILE_NAME);
+        if (!current(file, resultsFile)) {
+            try {
+                write(resultsFile);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return new LogIndex(resultsFile, file);
+    }
+
+    /** Build {@link #FILE_NAME} for a results.json or results.rkb by reading it back. */
+    static void write(Path resultsFile) throws IOException {
+        Builder b = new Builder();
+        if (resultsFile.getFileName().toString().equals(RunArchive.FILE_NAME)) {
+            b.dictionary(RunArchive.scanLogs(resultsFile, b::add));
+        } else {
+            scanJson(resultsFile, b);
+        }
+        b.write(resultsFile);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Numbers of the logs that may match: level at least {@code minLevel}, scope equal to
+     * {@code scope}, test id containing {@code test}, message containing {@code contains}. Filters
+     * are lowercase, null matches everything. Check each log read back; this can over-match.
+     */
+    public BitSet candidates(LogLevel minLevel, String scope, String test, String contains) {
+        BitSet result = new BitSet(count);
+        for (int l = minLevel.ordinal(); l < LEVELS.length; l++) decode(levels[l], result);
+
+        if (scope != null) result.and(union(scopes, key -> normalize(key).equals(scope)));
+        if (test != null) result.and(union(tests, key -> normalize(key).contains(test)));
+        if (contains != null) {
+            for (String run : runs(contains)) {
+                BitSet withRun = union(tokens(), token -> token.contains(run));
+                decode(unindexed, withRun);
+                if (isNumber(run, 0, run.length())) withRun.or(withNumber(run));
+                result.and(withRun);
+            }
+        }
+        return result;
+    }
+
+    /** Log number {@code n}, read from the results file. */
+    public RunLog read(int n) throws IOException {
+        int at = recordsAt + n * RECORD_BYTES;
+        long offset = index.getLong(at);
+        // Up to the next log, or for the last one the end of the file (the archive's end tag, or "]}")
+        long end = n + 1 < count ? index.getLong(at + RECORD_BYTES) : resultsSize;
+        if (offset < windowAt || end > windowAt + window.length) {
+            window = new byte[(int) Math.max(Math.min(WINDOW_BYTES, resultsSize - offset), end - offset)];
+            windowAt = offset;
+            ByteBuffer into = ByteBuffer.wrap(window);
+            while (into.hasRemaining() && results.read(into, offset + into.position()) >= 0) {
+                // positional reads until the window is full
+            }
+        }
+
+        int from = (int) (offset - windowAt);
+        int to = (int) (end - windowAt);
+        if (archive) return RunArchive.readLogAt(new ByteArrayInputStream(window, from, to - from), dict, index.getLong(at + 8));
+
+        // JSON offsets taken while writing point at the separator before the log
+        while (from < to && window[from] != '{') from++;
+        InputStream in = new ByteArrayInputStream(window, from, to - from);
+        try (JsonParser p = MAPPER.getFactory().createParser(in)) {
+            return MAPPER.readValue(p, RunLog.class);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        results.close();
+    }
+
+    private Map<String, Integer> tokens() {
+        if (tokens == null) {
+            ByteBuffer b = index.duplicate();
+            b.position(tokensAt);
+            tokens = keys(b);
+        }
+        return tokens;
+    }
+
+    // Logs with a number that may contain the digits in 'run': its pairs, or the digit itself
+    private BitSet withNumber(String run) {
+        if (run.length() == 1) {
+            BitSet set = new BitSet(count);
+            decode(digits[run.charAt(0) - '0'], set);
+            return set;
+        }
+        BitSet set = null;
+        for (int i = 0; i + 1 < run.length(); i++) {
+            BitSet pair = new BitSet(count);
+            decode(digits[pair(run, i)], pair);
+            if (set == null) set = pair;
+            else set.and(pair);
+        }
+        return set;
+    }
+
+    private BitSet union(Map<String, Integer> keys, Predicate<String> match) {
+        BitSet set = new BitSet(count);
+        for (var e : keys.entrySet()) {
+            if (match.test(e.getKey())) decode(e.getValue(), set);
+        }
+        return set;
+    }
+
+    private void decode(int at, BitSet into) {
+        int n = index.getInt(at);
+        int p = at + 8;
+        int value = 0;
+        for (int i = 0; i < n; i++) {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = index.get(p++);
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            value += delta;
+            into.set(value);
+        }
+    }
+
+    /** Whether {@code indexFile} was built from {@code resultsFile} as it is now. */
+    private static boolean current(Path indexFile, Path resultsFile) throws IOException {
+        if (!Files.exists(indexFile)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), 512))) {
+            for (byte b : MAGIC) {
+                if (in.readUnsignedByte() != b) return false;
+            }
+            if (in.readUnsignedByte() != VERSION) return false;
+            byte[] name = new byte[in.readInt()];
+            in.readFully(name);
+            return new String(name, StandardCharsets.UTF_8).equals(resultsFile.getFileName().toString())
+                    && in.readLong() == Files.size(resultsFile)
+                    && in.readLong() == Files.getLastModifiedTime(resultsFile).toMillis();
+        } catch (IOException e) {
+            return false;  // truncated or foreign; rebuild
+        }
+    }
+
+    private static void scanJson(Path resultsFile, Builder b) throws IOException {
+        try (InputStream in = Files.newInputStream(resultsFile);
+             JsonParser p = MAPPER.getFactory().createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) throw new IOException("Not a results file: " + resultsFile);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if (!field.equals("logs") || value != JsonToken.START_ARRAY) {
+                    p.skipChildren();
+                    continue;
+                }
+                JsonToken t;
+                while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+                    if (t != JsonToken.START_OBJECT) continue;  // null entries are never printed
+                    long offset = p.currentTokenLocation().getByteOffset();
+                    b.add(MAPPER.readValue(p, RunLog.class), offset, 0);
+                }
+            }
+        }
+    }
+
+    private static boolean isNumber(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static int pair(String s, int i) {
+        return 10 + (s.charAt(i) - '0') * 10 + (s.charAt(i + 1) - '0');
+    }
+
+    /** The letter/digit runs of {@code text}, as tokens are cut from messages. */
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            while (i < len && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i > start) runs.add(text.substring(start, i));
+        }
+        return runs;
+    }
+
+    // Same as the filters in LogsCommand
+    private static String normalize(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Integer> keys(ByteBuffer b) {
+        int n = b.getInt();
+        Map<String, Integer> keys = new HashMap<>(Math.max(16, n * 2));
+        for (int i = 0; i < n; i++) keys.put(str(b), skipPostings(b));
+        return keys;
+    }
+
+    private static int skipPostings(ByteBuffer b) {
+        int at = b.position();
+        b.position(at + 8 + b.getInt(at + 4));
+        return at;
+    }
+
+    private static String str(ByteBuffer b) {
+        byte[] bytes = new byte[b.getInt()];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void keys(DataOutputStream out, Map<String, IntList> keys) throws IOException {
+        out.writeInt(keys.size());
+        for (var e : keys.entrySet()) {
+            str(out, e.getKey());
+            e.getValue().write(out);
+        }
+    }
+
+    private static void str(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Collects logs as a results file is written, so finalizing a run doesn't have to read it
+     * back; {@link #write} once the file is in place.
+     */
+    static final class Builder {
+        final IntList[] levels = new IntList[LEVELS.length];
+        final Map<String, IntList> scopes = new LinkedHashMap<>();
+        final Map<String, IntList> tests = new LinkedHashMap<>();
+        final Map<String, IntList> tokens = new HashMap<>();
+        final IntList unindexed = new IntList();
+        final IntList[] digits = new IntList[DIGIT_LISTS];
+        long[] offsets = new long[1024];
+        long[] baseNanos = new long[1024];
+        List<String> dict = List.of();
+        int count;
+        boolean abandoned;
+
+        Builder() {
+            for (int i = 0; i < levels.length; i++) levels[i] = new IntList();
+            for (int i = 0; i < digits.length; i++) digits[i] = new IntList();
+        }
+
+        /** The results.rkb string dictionary as of the end of the archive. */
+        void dictionary(List<String> dict) {
+            this.dict = dict;
+        }
+
+        /** The offsets can't be trusted; leave the index to be built on first use. */
+        void abandon() {
+            abandoned = true;
+        }
+
+        void add(RunLog log, long offset, long nanos) {
+            if (abandoned) return;
+            int n = count++;
+            if (n == offsets.length) {
+                offsets = Arrays.copyOf(offsets, n * 2);
+                baseNanos = Arrays.copyOf(baseNanos, n * 2);
+            }
+            offsets[n] = offset;
+            baseNanos[n] = nanos;
+
+            if (log.level() != null) levels[log.level().ordinal()].add(n);
+            if (log.scope() != null) scopes.computeIfAbsent(log.scope(), k -> new IntList()).add(n);
+            if (log.testId() != null) tests.computeIfAbsent(log.testId(), k -> new IntList()).add(n);
+            if (log.message() != null) tokens(log.message().toLowerCase(Locale.ROOT), n);
+        }
+
+        void write(Path resultsFile) throws IOException {
+            if (abandoned) return;
+            Path file = resultsFile.resolveSibling(FILE_NAME);
+            Path tmp = resultsFile.resolveSibling(FILE_NAME + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+                out.write(MAGIC);
+                out.write(VERSION);
+                str(out, resultsFile.getFileName().toString());
+                out.writeLong(Files.size(resultsFile));
+                out.writeLong(Files.getLastModifiedTime(resultsFile).toMillis());
+
+                out.writeInt(count);
+                out.writeInt(dict.size());
+                for (String s : dict) str(out, s);
+                for (int i = 0; i < count; i++) {
+                    out.writeLong(offsets[i]);
+                    out.writeLong(baseNanos[i]);
+                }
+
+                for (IntList l : levels) l.write(out);
+                keys(out, scopes);
+                keys(out, tests);
+                unindexed.write(out);
+                for (IntList l : digits) l.write(out);
+                keys(out, tokens);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private void tokens(String text, int n) {
+            int i = 0;
+            int len = text.length();
+            while (i < len) {
+                while (i < len && !Character.isLetterOrDigit(text.charAt(i))) i++;
+                int start = i;
+                while (i < len && Character.isLetterOrDigit(text.charAt(i))) i++;
+                if (i == start) continue;
+
+                if (isNumber(text, start, i)) {
+                    for (int j = start; j < i; j++) {
+                        digits[text.charAt(j) - '0'].add(n);
+                        if (j + 1 < i) digits[pair(text, j)].add(n);
+                    }
+                } else {
+                    token(text.substring(start, i), n);
+                }
+            }
+        }
+
+        private void token(String token, int n) {
+            IntList list = tokens.get(token);
+            if (list == null && token.length() <= MAX_TOKEN_LENGTH && tokens.size() < MAX_TOKENS) {
+                list = new IntList();
+                tokens.put(token, list);
+            }
+            (list != null ? list : unindexed).add(n);
+        }
+    }
+
+    /** Ascending log numbers; adding the last one again is a no-op. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int v) {
+            if (size > 0 && values[size - 1] == v) return;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 2);
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                int delta = values[i] - previous;
+                previous = values[i];
+                while ((delta & ~0x7F) != 0) {
+                    bytes.write((delta & 0x7F) | 0x80);
+                    delta >>>= 7;
+                }
+                bytes.write(delta);
+            }
+            out.writeInt(size);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.reliabilitykit.reporting;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Test rows for a paged report.html, written as {@code report-data/tests-NNNNN.js} chunks of
+ * {@code pageSize} rows. Each chunk is a JSONP call ({@code rkReportPage(n, [...])}) rather than
+ * plain JSON because browsers block fetch() for file:// pages, while script tags still load.
+ */
+final class ReportPages implements Closeable {
+
+    static final String DIR_NAME = "report-data";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Path dir;
+    private final int pageSize;
+
+    private JsonGenerator page;
+    private int pages;
+    private int total;
+
+    private ReportPages(Path dir, int pageSize) {
+        this.dir = dir;
+        this.pageSize = pageSize;
+    }
+
+    static ReportPages open(Path runDir, int pageSize) throws IOException {
+        Path dir = runDir.resolve(DIR_NAME);
+        Files.createDirectories(dir);
+        return new ReportPages(dir, pageSize);
+    }
+
+    /** Removes chunks left over from an earlier render of the same run. */
+    static void clear(Path runDir) throws IOException {
+        Path dir = runDir.resolve(DIR_NAME);
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Path p : s.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    void add(TestResult t) throws IOException {
+        if (page == null) startPage();
+
+        page.writeStartArray();
+        page.writeString(t.status());
+        page.writeString(t.testId());
+        page.writeNumber(t.durationMs());
+        page.writeString(t.failureType());
+        page.writeString(t.failureHint());
+        page.writeString(t.errorMessage());
+        page.writeString(t.artifacts() == null ? null : t.artifacts().screenshotPath());
+        page.writeString(t.artifacts() == null ? null : t.artifacts().tracePath());
+        page.writeString(attempts(t));
+        page.writeEndArray();
+
+        if (++total % pageSize == 0) endPage();
+    }
+
+    /** e.g. "1 FAILED TIMEOUT 5012ms, 2 PASSED 840ms"; null unless the test was retried. */
+    private static String attempts(TestResult t) {
+        if (t.attempts() == null || t.attempts().isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (TestAttempt a : t.attempts()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(a.attempt()).append(' ').append(a.status());
+            if (a.failureType() != null) sb.append(' ').append(a.failureType());
+            sb.append(' ').append(a.durationMs()).append("ms");
+        }
+        return sb.toString();
+    }
+
+    int total() { return total; }
+
+    int pageSize() { return pageSize; }
+
+    @Override
+    public void close() throws IOException {
+        if (page != null) endPage();
+    }
+
+    private void startPage() throws IOException {
+        String name = String.format("tests-%05d.js", pages);
+        page = JSON.createGenerator(Files.newBufferedWriter(dir.resolve(name), StandardCharsets.UTF_8));
+        page.writeRaw("rkReportPage(" + pages + ",");
+        page.writeStartArray();
+    }
+
+    private void endPage() throws IOException {
+        page.writeEndArray();
+        page.writeRaw(");\n");
+        page.close();
+        page = null;
+        pages++;
+    }
+}
@@ -0,0 +1,230 @@
+package io.reliabilitykit.reporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only NDJSON journal written next to results.json while a run is in progress.
+ *
+ * One JSON object per line: a {@code run} header first, then {@code test} and {@code log}
+ * records in the order the collector flushed them. A crashed run leaves this file behind,
+ * and {@link #read(Path)} turns it back into a (partial) RunResult.
+ */
+public final class ResultsJournal implements AutoCloseable {
+
+    public static final String FILE_NAME = "results.ndjson";
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final Path path;
+    private final JsonGenerator gen;
+
+    private ResultsJournal(Path path) throws IOException {
+        this.path = path;
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024);
+        this.gen = MAPPER.getFactory().createGenerator(out);
+        // We terminate every record with '\n' ourselves so a reader never sees a half-separated line
+        this.gen.setRootValueSeparator(null);
+    }
+
+    public static ResultsJournal open(Path runDir) throws IOException {
+        Files.createDirectories(runDir);
+        return new ResultsJournal(runDir.resolve(FILE_NAME));
+    }
+
+    public Path path() { return path; }
+
+    public void writeHeader(String runId, String startedAtIso, RunMeta meta) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "run");
+        gen.writeStringField("runId", runId);
+        gen.writeStringField("startedAtIso", startedAtIso);
+        gen.writeFieldName("meta");
+        MAPPER.writeValue(gen, meta);
+        gen.writeEndObject();
+        endLine();
+    }
+
+    public void appendTest(TestResult test) throws IOException {
+        record("test", test);
+    }
+
+    public void appendLog(RunLog log) throws IOException {
+        record("log", log);
+    }
+
+    /** Push buffered records to disk; called once per collector flush, not per record. */
+    public void flush() throws IOException {
+        gen.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        gen.close();
+    }
+
+    private void record(String type, Object data) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", type);
+        gen.writeFieldName("data");
+        MAPPER.writeValue(gen, data);
+        gen.writeEndObject();
+        endLine();
+    }
+
+    private void endLine() throws IOException {
+        gen.writeRaw('\n');
+    }
+
+    // ---------- reading ----------
+
+    /** Rebuild a RunResult from a journal. finishedAtIso stays null: the run never finalized. */
+    public static RunResult read(Path journal) throws IOException {
+        String[] header = new String[2];
+        RunMeta[] meta = new RunMeta[1];
+        List<TestResult> tests = new ArrayList<>();
+        List<RunLog> logs = new ArrayList<>();
+
+        forEachRecord(journal, (type, node) -> {
+            try {
+                switch (type) {
+                    case "run" -> {
+                        header[0] = node.path("runId").asText(null);
+                        header[1] = node.path("startedAtIso").asText(null);
+                        meta[0] = MAPPER.treeToValue(node.get("meta"), RunMeta.class);
+                    }
+                    case "test" -> tests.add(MAPPER.treeToValue(node.get("data"), TestResult.class));
+                    case "log" -> logs.add(MAPPER.treeToValue(node.get("data"), RunLog.class));
+                    default -> { }
+                }
+            } catch (IOException e) {
+                // a single bad record should not hide the rest of the run
+            }
+        });
+
+        Summary summary = Summary.of(tests);
+
+        return new RunResult(header[0], header[1], null, 0, meta[0], summary, tests, logs);
+    }
+
+    interface LogSink {
+        void accept(JsonNode log) throws IOException;
+    }
+
+    /** Stream log records in journal order without building a List of RunLog. */
+    static void forEachLog(Path journal, LogSink sink) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node = parseLine(line);
+                if (node == null || !"log".equals(node.path("type").asText())) continue;
+                sink.accept(node.get("data"));
+            }
+        }
+    }
+
+    /** Opens {@code journal} for {@link Tail#poll}, starting at its beginning. */
+    public static Tail tail(Path journal) throws IOException {
+        return new Tail(FileChannel.open(journal, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads log records as they are appended, for {@code rk logs --follow}. Each poll reads only
+     * the bytes added since the previous one; a trailing partial line waits for the collector's
+     * next flush to complete it. The channel stays readable after the journal is deleted at
+     * finalize, so nothing flushed before that is missed.
+     */
+    public static final class Tail implements Closeable {
+        // record() writes the type first, so other records are skipped without parsing them
+        private static final String LOG_PREFIX = "{\"type\":\"log\"";
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        private long position;
+
+        private Tail(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /** Hand every complete log record appended since the last poll to {@code sink}. */
+        public void poll(Consumer<RunLog> sink) throws IOException {
+            while (true) {
+                buffer.clear();
+                int n = channel.read(buffer, position);
+                if (n <= 0) return;
+                position += n;
+
+                byte[] bytes = buffer.array();
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (bytes[i] != '\n') continue;
+                    partial.write(bytes, start, i - start);
+                    line(partial.toString(StandardCharsets.UTF_8), sink);
+                    partial.reset();
+                    start = i + 1;
+                }
+                partial.write(bytes, start, n - start);
+            }
+        }
+
+        private static void line(String line, Consumer<RunLog> sink) {
+            if (!line.startsWith(LOG_PREFIX)) return;
+            JsonNode node = parseLine(line);
+            if (node == null) return;
+            try {
+                sink.accept(MAPPER.treeToValue(node.get("data"), RunLog.class));
+            } catch (IOException e) {
+                // skip a bad record, as read() does
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private interface RecordSink {
+        void accept(String type, JsonNode node);
+    }
+
+    private static void forEachRecord(Path journal, RecordSink sink) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node = parseLine(line);
+                if (node == null) continue;
+                sink.accept(node.path("type").asText(""), node);
+            }
+        }
+    }
+
+    private static JsonNode parseLine(String line) {
+        if (line.isBlank()) return null;
+        try {
+            return MAPPER.readTree(line);
+        } catch (IOException e) {
+            return null; // truncated tail after a crash
+        }
+    }
+}
@@ -1,25 +1,161 @@
 package io.reliabilitykit.reporting;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.reliabilitykit.framework.ToolkitConfig;
 
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 public final class ResultsWriter {
     private static final ObjectMapper MAPPER = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT);
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
     private ResultsWriter() {}
 
-    public static void write(RunResult runResult) throws Exception {
-        Path dir = Paths.get("results", runResult.runId());
+    /** ./results by default; -Drk.resultsDir points writers and the CLI somewhere else. */
+    public static Path resultsRoot() {
+        return Paths.get(System.getProperty("rk.resultsDir", "results"));
+    }
+
+    /** @return the results.json or results.rkb written, per {@link ToolkitConfig#resultsFormat()} */
+    public static Path write(RunResult runResult) throws Exception {
+        Path dir = resultsRoot().resolve(runResult.runId());
         Files.createDirectories(dir);
 
-        Path out = dir.resolve("results.json");
-        MAPPER.writeValue(out.toFile(), runResult);
+        Path out;
+        LogIndex.Builder index = null;
+        if (binary()) {
+            out = dir.resolve(RunArchive.FILE_NAME);
+            index = new LogIndex.Builder();
+            RunArchive.write(runResult, out, index);
+        } else {
+            out = dir.resolve("results.json");
+            MAPPER.writeValue(out.toFile(), runResult);
+        }
 
         HtmlReportWriter.write(runResult, out);
+        index(out, index);
+        catalog(runResult, out);
+        return out;
+    }
+
+    /**
+     * Finalize a journaled run into the regular results.json schema.
+     *
+     * Everything except logs comes from {@code header}; logs are streamed record by record
+     * from the journal, so memory stays flat no matter how many lines the run produced.
+     * The journal is removed once results.json has been moved into place.
+     */
+    public static Path writeFromJournal(RunResult header, Path journal) throws Exception {
+        Path dir = resultsRoot().resolve(header.runId());
+        Files.createDirectories(dir);
+
+        LogIndex.Builder index = new LogIndex.Builder();
+        if (binary()) {
+            Path out = dir.resolve(RunArchive.FILE_NAME);
+            Path tmp = dir.resolve(RunArchive.FILE_NAME + ".tmp");
+            try (RunArchive.Writer archive = RunArchive.Writer.open(tmp, header, index)) {
+                ResultsJournal.forEachLog(journal, log -> archive.log(ResultsJournal.MAPPER.treeToValue(log, RunLog.class)));
+            }
+            return finish(header, journal, tmp, out, index);
+        }
+
+        Path out = dir.resolve("results.json");
+        Path tmp = dir.resolve("results.json.tmp");
+
+        CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024));
+        try (OutputStream os = counter;
+             JsonGenerator gen = MAPPER.writerWithDefaultPrettyPrinter().createGenerator(os)) {
+
+            gen.writeStartObject();
+            gen.writeStringField("runId", header.runId());
+            gen.writeStringField("startedAtIso", header.startedAtIso());
+            gen.writeStringField("finishedAtIso", header.finishedAtIso());
+            gen.writeNumberField("durationMs", header.durationMs());
+            gen.writeFieldName("meta");
+            MAPPER.writeValue(gen, header.meta());
+            gen.writeFieldName("summary");
+            MAPPER.writeValue(gen, header.summary());
+
+            gen.writeArrayFieldStart("tests");
+            for (TestResult t : header.tests()) {
+                MAPPER.writeValue(gen, t);
+            }
+            gen.writeEndArray();
+
+            gen.writeArrayFieldStart("logs");
+            // Offsets for the log index: everything handed on so far plus what the generator still buffers
+            ResultsJournal.forEachLog(journal, log -> {
+                index.add(ResultsJournal.MAPPER.treeToValue(log, RunLog.class), counter.count + gen.getOutputBuffered(), 0);
+                gen.writeTree(log);
+            });
+            gen.writeEndArray();
+
+            gen.writeEndObject();
+        }
+
+        return finish(header, journal, tmp, out, index);
+    }
+
+    private static Path finish(RunResult header, Path journal, Path tmp, Path out, LogIndex.Builder index) throws Exception {
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(journal);
+
+        HtmlReportWriter.write(header, out);
+        index(out, index);
+        catalog(header, out);
+        return out;
+    }
+
+    // Best effort, like the catalog: rk logs builds a missing log index on first use
+    private static void index(Path out, LogIndex.Builder index) {
+        try {
+            if (index != null) index.write(out);
+            else LogIndex.write(out);
+        } catch (IOException ignored) {
+            // built later if needed
+        }
+    }
+
+    // Best effort: the catalog is only an index, and RunIndex re-adds runs it finds missing from it
+    private static void catalog(RunResult run, Path out) {
+        try {
+            RunCatalog.append(resultsRoot(), RunCatalog.Entry.of(run, out.getFileName().toString()));
+        } catch (IOException ignored) {
+            // picked up by the next directory reconcile
+        }
+    }
+
+    private static boolean binary() {
+        return ToolkitConfig.load().resultsFormat() == ToolkitConfig.ResultsFormat.BINARY;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,532 @@
+package io.reliabilitykit.reporting;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary alternative to results.json ({@code -DresultsFormat=binary}); RunIndex reads
+ * either transparently. Layout, integers as unsigned LEB128 varints unless noted:
+ *
+ * <pre>
+ * "RKB" version:u8
+ * runId:str startedAtIso:str finishedAtIso:str durationMs:zz
+ * meta:    present:u8 [baseUrl:ref browser:ref headless:u8 slowMoMs:zz timeoutMs:zz]
+ * summary: total passed failed flaky blocked
+ * tests:   count, then per test
+ *            testId:ref status durationMs:zz contextSetupMs:zz errorMessage:ref failureType:ref failureHint:ref
+ *            artifacts: present:u8 [screenshot:ref trace:ref]
+ *            attempts:  count+1 (0 = null), then per attempt: attempt status durationMs:zz failureType:ref errorMessage:ref
+ * logs:    records until tag 0; tag 1 = timestamp as zz delta of epoch nanos from the previous tag-1 record,
+ *          tag 2 = timestamp:str as written; then level (ordinal+1, 0 = null) scope:ref message:str testId:ref artifactDir:ref
+ * </pre>
+ *
+ * {@code str} is byte length+1 then UTF-8, 0 = null. {@code zz} is a zigzag-encoded signed varint.
+ * {@code ref} goes through a string dictionary built while writing: 0 = null, 1 = a new {@code str}
+ * follows and takes the next index, n = the string at index n-2. Test ids, scopes, failure types,
+ * hints and error messages repeat constantly and cost a byte or two after first use; log messages
+ * are nearly always unique, so they stay inline. {@code status} is the index in {@link #STATUSES}
+ * plus one, or 0 followed by a ref for anything else.
+ *
+ * Tests come before logs, so {@link #readTests} stops reading once it has them.
+ */
+public final class RunArchive {
+
+    public static final String FILE_NAME = "results.rkb";
+
+    private static final byte[] MAGIC = {'R', 'K', 'B'};
+    private static final int VERSION = 1;
+
+    private static final String[] STATUSES = {"PASSED", "FAILED", "FLAKY", "BLOCKED"};
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private static final int LOG_END = 0;
+    private static final int LOG_NANOS = 1;
+    private static final int LOG_TEXT = 2;
+
+    private RunArchive() {}
+
+    public static void write(RunResult run, Path out) throws IOException {
+        write(run, out, null);
+    }
+
+    /** Also feeds every log to {@code index}, which may be null. */
+    static void write(RunResult run, Path out, LogIndex.Builder index) throws IOException {
+        try (Writer w = Writer.open(out, run, index)) {
+            for (RunLog log : run.logs()) w.log(log);
+        }
+    }
+
+    public static RunResult read(Path file) throws IOException {
+        try (Reader r = new Reader(Files.newInputStream(file))) {
+            RunResult header = r.header();
+            List<RunLog> logs = new ArrayList<>();
+            RunLog log;
+            while ((log = r.log()) != null) logs.add(log);
+            return new RunResult(header.runId(), header.startedAtIso(), header.finishedAtIso(), header.durationMs(),
+                    header.meta(), header.summary(), header.tests(), logs);
+        }
+    }
+
+    /** Only the tests, for history; the logs are never read. */
+    public static List<TestResult> readTests(Path file) throws IOException {
+        try (Reader r = new Reader(Files.newInputStream(file))) {
+            return r.header().tests();
+        }
+    }
+
+    /** A log plus where it starts in the archive and the timestamp its delta is against. */
+    interface LogSink {
+        void accept(RunLog log, long offset, long baseNanos) throws IOException;
+    }
+
+    /**
+     * Stream every log with its position, for {@link LogIndex}.
+     *
+     * @return the string dictionary as of the end of the archive; refs only point backwards,
+     * so it decodes any log on its own with {@link #readLogAt}
+     */
+    static List<String> scanLogs(Path file, LogSink sink) throws IOException {
+        CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+        try (Reader r = new Reader(new DataInputStream(counter), new ArrayList<>(), 0, true)) {
+            r.header();
+            while (true) {
+                long offset = counter.count;
+                long baseNanos = r.lastNanos;
+                RunLog log = r.log();
+                if (log == null) return r.dict;
+                sink.accept(log, offset, baseNanos);
+            }
+        }
+    }
+
+    /** One log, {@code in} positioned where {@link #scanLogs} found it. */
+    static RunLog readLogAt(InputStream in, List<String> dict, long baseNanos) throws IOException {
+        return new Reader(new DataInputStream(in), dict, baseNanos, false).log();
+    }
+
+    /** Streams an archive: header and tests on open, then logs one by one. */
+    static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final Map<String, Integer> dict = new HashMap<>();
+        private long lastNanos;
+        private LogIndex.Builder index;
+
+        private Writer(DataOutputStream out, LogIndex.Builder index) {
+            this.out = out;
+            this.index = index;
+        }
+
+        /**
+         * Writes everything except {@code header.logs()}, which are ignored.
+         *
+         * @param index gets each log with its position, and the dictionary on close; may be null
+         */
+        static Writer open(Path file, RunResult header, LogIndex.Builder index) throws IOException {
+            Writer w = new Writer(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)), index);
+            try {
+                w.header(header);
+            } catch (IOException | RuntimeException e) {
+                w.out.close();
+                throw e;
+            }
+            return w;
+        }
+
+        private void header(RunResult run) throws IOException {
+            out.write(MAGIC);
+            out.write(VERSION);
+            str(run.runId());
+            str(run.startedAtIso());
+            str(run.finishedAtIso());
+            zz(run.durationMs());
+
+            RunMeta meta = run.meta();
+            out.write(meta == null ? 0 : 1);
+            if (meta != null) {
+                ref(meta.baseUrl());
+                ref(meta.browser());
+                out.write(meta.headless() ? 1 : 0);
+                zz(meta.slowMoMs());
+                zz(meta.timeoutMs());
+            }
+
+            Summary s = run.summary() != null ? run.summary() : Summary.of(run.tests());
+            var(s.total());
+            var(s.passed());
+            var(s.failed());
+            var(s.flaky());
+            var(s.blocked());
+
+            var(run.tests().size());
+            for (TestResult t : run.tests()) test(t);
+        }
+
+        private void test(TestResult t) throws IOException {
+            ref(t.testId());
+            status(t.status());
+            zz(t.durationMs());
+            zz(t.contextSetupMs());
+            ref(t.errorMessage());
+            ref(t.failureType());
+            ref(t.failureHint());
+
+            ArtifactPaths a = t.artifacts();
+            out.write(a == null ? 0 : 1);
+            if (a != null) {
+                ref(a.screenshotPath());
+                ref(a.tracePath());
+            }
+
+            if (t.attempts() == null) {
+                var(0);
+                return;
+            }
+            var(t.attempts().size() + 1L);
+            for (TestAttempt at : t.attempts()) {
+                var(at.attempt());
+                status(at.status());
+                zz(at.durationMs());
+                ref(at.failureType());
+                ref(at.errorMessage());
+            }
+        }
+
+        void log(RunLog log) throws IOException {
+            if (index != null) {
+                // DataOutputStream.size() sticks at Integer.MAX_VALUE; past 2 GB rk logs scans instead
+                if (out.size() == Integer.MAX_VALUE) {
+                    index.abandon();
+                    index = null;
+                } else {
+                    index.add(log, out.size(), lastNanos);
+                }
+            }
+            Long nanos = parseNanos(log.timestampIso());
+            if (nanos != null) {
+                out.write(LOG_NANOS);
+                zz(nanos - lastNanos);
+                lastNanos = nanos;
+            } else {
+                out.write(LOG_TEXT);
+                str(log.timestampIso());
+            }
+            var(log.level() == null ? 0 : log.level().ordinal() + 1L);
+            ref(log.scope());
+            str(log.message());
+            ref(log.testId());
+            ref(log.artifactDir());
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (out) {
+                out.write(LOG_END);
+            }
+            if (index != null) {
+                String[] strings = new String[dict.size()];
+                dict.forEach((s, i) -> strings[i] = s);
+                index.dictionary(Arrays.asList(strings));
+            }
+        }
+
+        private void status(String status) throws IOException {
+            for (int i = 0; i < STATUSES.length; i++) {
+                if (STATUSES[i].equals(status)) {
+                    var(i + 1L);
+                    return;
+                }
+            }
+            var(0);
+            ref(status);
+        }
+
+        private void ref(String s) throws IOException {
+            if (s == null) {
+                var(0);
+                return;
+            }
+            Integer index = dict.get(s);
+            if (index != null) {
+                var(index + 2L);
+                return;
+            }
+            dict.put(s, dict.size());
+            var(1);
+            str(s);
+        }
+
+        private void str(String s) throws IOException {
+            if (s == null) {
+                var(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            var(bytes.length + 1L);
+            out.write(bytes);
+        }
+
+        private void zz(long v) throws IOException {
+            var((v << 1) ^ (v >> 63));
+        }
+
+        private void var(long v) throws IOException {
+            while ((v & ~0x7FL) != 0) {
+                out.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.write((int) v);
+        }
+
+    }
+
+    /**
+     * Epoch nanos of {@code iso}, only if {@link #formatNanos} gives the exact same text back:
+     * {@code yyyy-MM-ddTHH:mm:ss[.SSS[SSS[SSS]]]Z} as {@link Instant#toString()} writes it. Anything
+     * else is kept as text. Hand-parsed, as DateTimeFormatter costs more than the rest of a log record.
+     */
+    static Long parseNanos(String iso) {
+        if (iso == null) return null;
+        int len = iso.length();
+        int fraction = len - 21;
+        if (len < 20 || iso.charAt(len - 1) != 'Z' || iso.charAt(4) != '-' || iso.charAt(7) != '-'
+                || iso.charAt(10) != 'T' || iso.charAt(13) != ':' || iso.charAt(16) != ':') return null;
+        if (len > 20 && (iso.charAt(19) != '.' || (fraction != 3 && fraction != 6 && fraction != 9)
+                || iso.startsWith("000", len - 4))) return null;
+
+        int year = digits(iso, 0, 4);
+        int month = digits(iso, 5, 2);
+        int day = digits(iso, 8, 2);
+        int hour = digits(iso, 11, 2);
+        int minute = digits(iso, 14, 2);
+        int second = digits(iso, 17, 2);
+        int nanos = fraction > 0 ? digits(iso, 20, fraction) : 0;
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59 || nanos < 0) return null;
+        for (int i = fraction; i < 9; i++) nanos *= 10;
+        if (day > YearMonth.of(year, month).lengthOfMonth()) return null;
+
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        long epochSecond = epochDay * 86_400 + hour * 3_600L + minute * 60L + second;
+        try {
+            return Math.addExact(Math.multiplyExact(epochSecond, 1_000_000_000L), nanos);
+        } catch (ArithmeticException e) {
+            return null;  // outside roughly 1677-2262
+        }
+    }
+
+    /** Inverse of {@link #parseNanos}; same output as {@code Instant.toString()} for years 0-9999. */
+    static String formatNanos(long epochNanos) {
+        long epochSecond = Math.floorDiv(epochNanos, 1_000_000_000L);
+        int nanos = (int) Math.floorMod(epochNanos, 1_000_000_000L);
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86_400));
+        int secondOfDay = Math.floorMod(epochSecond, 86_400);
+
+        StringBuilder sb = new StringBuilder(30);
+        pad(sb, date.getYear(), 4).append('-');
+        pad(sb, date.getMonthValue(), 2).append('-');
+        pad(sb, date.getDayOfMonth(), 2).append('T');
+        pad(sb, secondOfDay / 3_600, 2).append(':');
+        pad(sb, secondOfDay / 60 % 60, 2).append(':');
+        pad(sb, secondOfDay % 60, 2);
+        if (nanos > 0) {
+            sb.append('.');
+            if (nanos % 1_000_000 == 0) pad(sb, nanos / 1_000_000, 3);
+            else if (nanos % 1_000 == 0) pad(sb, nanos / 1_000, 6);
+            else pad(sb, nanos, 9);
+        }
+        return sb.append('Z').toString();
+    }
+
+    private static int digits(String s, int from, int count) {
+        int v = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int v, int width) {
+        String digits = Integer.toString(v);
+        for (int i = digits.length(); i < width; i++) sb.append('0');
+        return sb.append(digits);
+    }
+
+    private static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final List<String> dict;
+        private final boolean growDict;  // false when reading one log against a finished dictionary
+        private long lastNanos;
+
+        Reader(InputStream in) {
+            this(new DataInputStream(new BufferedInputStream(in, 64 * 1024)), new ArrayList<>(), 0, true);
+        }
+
+        Reader(DataInputStream in, List<String> dict, long lastNanos, boolean growDict) {
+            this.in = in;
+            this.dict = dict;
+            this.lastNanos = lastNanos;
+            this.growDict = growDict;
+        }
+
+        RunResult header() throws IOException {
+            for (byte b : MAGIC) {
+                if (in.readUnsignedByte() != b) throw new IOException("Not a " + FILE_NAME + " archive");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unsupported " + FILE_NAME + " version " + version);
+
+            String runId = str();
+            String startedAtIso = str();
+            String finishedAtIso = str();
+            long durationMs = zz();
+
+            RunMeta meta = null;
+            if (in.readUnsignedByte() == 1) {
+                meta = new RunMeta(ref(), ref(), in.readUnsignedByte() == 1, (int) zz(), (int) zz());
+            }
+            Summary summary = new Summary(count(), count(), count(), count(), count());
+
+            int n = count();
+            List<TestResult> tests = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) tests.add(test());
+
+            return new RunResult(runId, startedAtIso, finishedAtIso, durationMs, meta, summary, tests, List.of());
+        }
+
+        private TestResult test() throws IOException {
+            String testId = ref();
+            String status = status();
+            long durationMs = zz();
+            long contextSetupMs = zz();
+            String errorMessage = ref();
+            String failureType = ref();
+            String failureHint = ref();
+            ArtifactPaths artifacts = in.readUnsignedByte() == 1 ? new ArtifactPaths(ref(), ref()) : null;
+
+            List<TestAttempt> attempts = null;
+            int n = count();
+            if (n > 0) {
+                attempts = new ArrayList<>(n - 1);
+                for (int i = 1; i < n; i++) {
+                    attempts.add(new TestAttempt(count(), status(), zz(), ref(), ref()));
+                }
+            }
+            return new TestResult(testId, status, durationMs, contextSetupMs, errorMessage, failureType, failureHint,
+                    artifacts, attempts);
+        }
+
+        /** Next log, or null after the last one. Call after {@link #header()}. */
+        RunLog log() throws IOException {
+            int tag = in.readUnsignedByte();
+            String timestamp = switch (tag) {
+                case LOG_END -> null;
+                case LOG_NANOS -> {
+                    lastNanos += zz();
+                    yield formatNanos(lastNanos);
+                }
+                case LOG_TEXT -> str();
+                default -> throw new IOException("Corrupt " + FILE_NAME + ": log tag " + tag);
+            };
+            if (tag == LOG_END) return null;
+
+            int level = count();
+            return new RunLog(timestamp, level == 0 ? null : LEVELS[level - 1], ref(), str(), ref(), ref());
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private String status() throws IOException {
+            int code = count();
+            return code == 0 ? ref() : STATUSES[code - 1];
+        }
+
+        private String ref() throws IOException {
+            long code = var();
+            if (code == 0) return null;
+            if (code == 1) {
+                String s = str();
+                if (growDict) dict.add(s);
+                return s;
+            }
+            return dict.get((int) (code - 2));
+        }
+
+        private String str() throws IOException {
+            int len = count();
+            if (len == 0) return null;
+            byte[] bytes = new byte[len - 1];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long zz() throws IOException {
+            long v = var();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private int count() throws IOException {
+            return Math.toIntExact(var());
+        }
+
+        private long var() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new IOException("Corrupt " + FILE_NAME + ": varint too long");
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
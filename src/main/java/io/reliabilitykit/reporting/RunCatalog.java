@@ -0,0 +1,180 @@
+package io.reliabilitykit.reporting;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only list of the runs under results/, so listing runs and finding the latest one
+ * cost one file read instead of a scan that stats every run directory and parses every
+ * results file.
+ *
+ * One JSON line per event, the last line per runId wins: RunCollector appends an entry when a
+ * run starts, ResultsWriter when its results are written, and commands that delete or convert
+ * runs append a tombstone or an updated entry. Each line goes out as a single O_APPEND write,
+ * so runs finishing at the same time on one machine don't interleave.
+ */
+public final class RunCatalog {
+
+    public static final String FILE_NAME = "catalog.ndjson";
+
+    // Enough for the last few dozen entries; see latest()
+    private static final int TAIL_BYTES = 64 * 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * @param file results file name inside the run directory (results.json, results.rkb, or the
+     *             journal while the run is in progress)
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public record Entry(
+            String runId,
+            String startedAtIso,
+            String finishedAtIso,   // null while in progress
+            long durationMs,
+            RunMeta meta,
+            Summary summary,
+            String file,
+            boolean removed
+    ) {
+        public static Entry started(String runId, String startedAtIso, RunMeta meta) {
+            return new Entry(runId, startedAtIso, null, 0, meta, null, ResultsJournal.FILE_NAME, false);
+        }
+
+        public static Entry of(RunResult run, String file) {
+            return new Entry(run.runId(), run.startedAtIso(), run.finishedAtIso(), run.durationMs(), run.meta(),
+                    run.summary(), file, false);
+        }
+
+        public static Entry removed(String runId) {
+            return new Entry(runId, null, null, 0, null, null, null, true);
+        }
+    }
+
+    private RunCatalog() {}
+
+    public static Path path(Path resultsRoot) {
+        return resultsRoot.resolve(FILE_NAME);
+    }
+
+    public static void append(Path resultsRoot, Entry entry) throws IOException {
+        append(resultsRoot, List.of(entry));
+    }
+
+    public static void append(Path resultsRoot, List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) return;
+        StringBuilder lines = new StringBuilder();
+        for (Entry e : entries) lines.append(MAPPER.writeValueAsString(e)).append('\n');
+        Files.createDirectories(resultsRoot);
+        Files.write(path(resultsRoot), lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** Current runs, oldest first by when they were first cataloged; empty if there is no catalog. */
+    public static List<Entry> read(Path resultsRoot) throws IOException {
+        Path file = path(resultsRoot);
+        Map<String, Entry> runs = new LinkedHashMap<>();
+        if (!Files.exists(file)) return new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) fold(runs, parse(line));
+        }
+        return new ArrayList<>(runs.values());
+    }
+
+    /**
+     * Rewrite the catalog with one line per current run, dropping tombstones and superseded
+     * entries. A run appending at the same moment may lose its line; the rename touches the
+     * results directory, so RunIndex reconciles and adds it back.
+     */
+    public static void compact(Path resultsRoot) throws IOException {
+        Path file = path(resultsRoot);
+        if (!Files.exists(file)) return;
+        List<Entry> runs = read(resultsRoot);
+
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (var out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Entry e : runs) {
+                out.write(MAPPER.writeValueAsString(e));
+                out.write('\n');
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The newest cataloged run, reading only the end of the file: the run with the greatest
+     * start time among the last entries that hasn't been removed since. Null if the tail holds
+     * nothing live (callers fall back to {@link #read}).
+     */
+    public static Entry latest(Path resultsRoot) throws IOException {
+        Path file = path(resultsRoot);
+        if (!Files.exists(file)) return null;
+
+        byte[] tail;
+        boolean whole;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long from = Math.max(0, raf.length() - TAIL_BYTES);
+            whole = from == 0;
+            tail = new byte[(int) (raf.length() - from)];
+            raf.seek(from);
+            raf.readFully(tail);
+        }
+
+        String[] lines = new String(tail, StandardCharsets.UTF_8).split("\n");
+        Set<String> removed = new HashSet<>();
+        Entry best = null;
+        // The first line of a partial tail is probably cut off
+        for (int i = lines.length - 1; i >= (whole ? 0 : 1); i--) {
+            Entry e = parse(lines[i]);
+            if (e == null || e.runId() == null) continue;
+            if (e.removed()) {
+                removed.add(e.runId());
+                continue;
+            }
+            if (removed.contains(e.runId())) continue;
+            if (best == null || newer(e, best)) best = e;
+        }
+        return best;
+    }
+
+    private static boolean newer(Entry a, Entry b) {
+        String x = a.startedAtIso() != null ? a.startedAtIso() : "";
+        String y = b.startedAtIso() != null ? b.startedAtIso() : "";
+        int c = x.compareTo(y);
+        return c != 0 ? c > 0 : a.runId().compareTo(b.runId()) > 0;
+    }
+
+    private static void fold(Map<String, Entry> runs, Entry e) {
+        if (e == null || e.runId() == null) return;
+        if (e.removed()) runs.remove(e.runId());
+        else runs.put(e.runId(), e);
+    }
+
+    private static Entry parse(String line) {
+        if (line.isBlank()) return null;
+        try {
+            return MAPPER.readValue(line, Entry.class);
+        } catch (IOException e) {
+            return null;  // torn line from a crashed writer
+        }
+    }
+}
@@ -2,11 +2,18 @@ package io.reliabilitykit.reporting;
 
 import io.reliabilitykit.framework.ToolkitConfig;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public final class RunCollector {
     private static final DateTimeFormatter RUN_ID_FMT =
@@ -14,78 +21,166 @@ public final class RunCollector {
     private static final DateTimeFormatter ISO_FMT =
             DateTimeFormatter.ISO_INSTANT;
 
-    private static RunCollector instance;
+    private static volatile RunCollector instance;
+
+    private static final long FLUSH_INTERVAL_MS = 250;
+
+    /** RUN log line identifying the shard a run executed, e.g. {@code Shard: 2/4 plan=1a2b3c4d}. */
+    public static final String SHARD_LOG_PREFIX = "Shard: ";
 
     private final String runId;
     private final Instant startedAt;
     private Instant finishedAt;
 
     private final ToolkitConfig config;
+    private final CircuitBreaker breaker;
+
+    // Producers (test threads) append lock-free; the journal flusher / finish drain them under this monitor
+    private final EventPipeline<TestResult> testPipeline = new EventPipeline<>();
+    private final EventPipeline<RunLog> logPipeline = new EventPipeline<>();
+
+    // consumer-side, guarded by this
     private final List<TestResult> tests = new ArrayList<>();
-    private final List<RunLog> logs = new ArrayList<>();
+    private final List<RunLog> logs = new ArrayList<>();  // only used when there is no journal
+
+    // null when results/<runId> can't be written; logs are then kept in memory
+    private ResultsJournal journal;
+    private final ScheduledExecutorService flusher;
 
     private boolean finalized = false;
+    private Path resultsJson;
 
     private RunCollector(ToolkitConfig config) {
         this.startedAt = Instant.now();
-        this.runId = RUN_ID_FMT.format(this.startedAt);
+        this.runId = uniqueRunId(RUN_ID_FMT.format(this.startedAt));
         this.config = config;
+        this.breaker = new CircuitBreaker(config.circuitBreakerWindow(), config.circuitBreakerPercent(),
+                config.circuitBreakerTypes());
+
+        try {
+            journal = ResultsJournal.open(runDir());
+            journal.writeHeader(runId, ISO_FMT.format(startedAt), metaFromConfig());
+        } catch (IOException e) {
+            journal = null;
+        }
+        if (journal != null) {
+            // So list-runs and 'logs --latest' see the run while it is in progress
+            try {
+                RunCatalog.append(ResultsWriter.resultsRoot(),
+                        RunCatalog.Entry.started(runId, ISO_FMT.format(startedAt), metaFromConfig()));
+            } catch (IOException ignored) {
+                // RunIndex finds the run directory anyway
+            }
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rk-results-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        if (journal != null) {
+            flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
 
         info("RUN", "Run started: " + runId);
+        if (journal == null) warn("RUN", "Results journal unavailable; logs are buffered in memory until the run ends");
         info("RUN", "Config: browser=" + config.browser().name()
                 + " headless=" + config.headless()
                 + " baseUrl=" + config.baseUrl()
                 + " timeoutMs=" + config.timeoutMs()
-                + " slowMoMs=" + config.slowMoMs());
+                + " slowMoMs=" + config.slowMoMs()
+                + " browserPoolSize=" + config.browserPoolSize()
+                + " circuitBreaker=" + breaker.describe());
+        // Set by 'rk run --shard'; read back by 'rk merge'
+        String shard = System.getProperty("rk.shard");
+        if (shard != null && !shard.isBlank()) {
+            info("RUN", SHARD_LOG_PREFIX + shard + " plan=" + System.getProperty("rk.shardPlan", "unknown"));
+        }
     }
 
-    public static synchronized RunCollector get(ToolkitConfig config) {
-        if (instance == null) instance = new RunCollector(config);
-        return instance;
+    public static RunCollector get(ToolkitConfig config) {
+        RunCollector c = instance;
+        if (c != null) return c;
+        synchronized (RunCollector.class) {
+            if (instance == null) instance = new RunCollector(config);
+            return instance;
+        }
+    }
+
+    /**
+     * Forget the current run so the next {@link #get} starts a new one, for JVMs that execute
+     * several runs ({@code rk daemon}). A run that was never finished is finished first.
+     */
+    public static void reset() throws Exception {
+        synchronized (RunCollector.class) {
+            RunCollector c = instance;
+            instance = null;
+            if (c != null) c.finish();
+        }
     }
 
     public String runId() { return runId; }
 
-    public synchronized void add(TestResult result) {
-        tests.add(result);
+    // A JVM running several runs (rk daemon) can start two within the same second
+    private static String uniqueRunId(String base) {
+        String id = base;
+        for (int n = 2; Files.exists(ResultsWriter.resultsRoot().resolve(id)); n++) id = base + "_" + n;
+        return id;
+    }
+
+    public Path runDir() { return ResultsWriter.resultsRoot().resolve(runId); }
+
+    public void add(TestResult result) {
+        testPipeline.offer(result);
+        String opened = breaker.record(result);
+        if (opened != null) {
+            error("RUN", "Circuit breaker open: " + opened + "; remaining tests are BLOCKED. Check that "
+                    + config.baseUrl() + " is up");
+        }
+    }
+
+    /** Why tests should not start any more (circuit breaker open), or null to run them. */
+    public String blockedReason() {
+        return breaker.openReason();
     }
 
     // ---------- logging helpers ----------
-    public synchronized void info(String scope, String msg) {
+    public void info(String scope, String msg) {
         log(LogLevel.INFO, scope, msg, null, null);
     }
 
-    public synchronized void warn(String scope, String msg) {
+    public void warn(String scope, String msg) {
         log(LogLevel.WARN, scope, msg, null, null);
     }
 
-    public synchronized void error(String scope, String msg) {
+    public void error(String scope, String msg) {
         log(LogLevel.ERROR, scope, msg, null, null);
     }
 
-    public synchronized void test(LogLevel level, String testId, String msg) {
+    public void test(LogLevel level, String testId, String msg) {
         log(level, "TEST", msg, testId, null);
     }
 
-    public synchronized void trace(LogLevel level, String testId, String msg) {
+    public void trace(LogLevel level, String testId, String msg) {
         log(level, "TRACE", msg, testId, null);
     }
 
-    public synchronized void artifact(String testId, String artifactDir, String msg) {
+    public void artifact(String testId, String artifactDir, String msg) {
         log(LogLevel.WARN, "ARTIFACT", msg, testId, artifactDir);
     }
 
-    public synchronized void browser(LogLevel level, String msg) {
+    public void browser(LogLevel level, String msg) {
         log(level, "BROWSER", msg, null, null);
     }
 
-    public synchronized void log(LogLevel level, String scope, String msg) {
+    public void log(LogLevel level, String scope, String msg) {
         log(level, scope, msg, null, null);
     }
 
     private void log(LogLevel level, String scope, String msg, String testId, String artifactDir) {
-        logs.add(new RunLog(
-                ISO_FMT.format(Instant.now()),
+        // Stamped inside the CAS loop so pipeline order == timestamp order (see EventPipeline)
+        logPipeline.offerStamped(now -> new RunLog(
+                ISO_FMT.format(now),
                 level,
                 scope,
                 msg,
@@ -94,49 +189,120 @@ public final class RunCollector {
         ));
     }
 
+    // ---------- metrics ----------
+    public CollectorStats stats() {
+        long elapsedMs = Math.max(1, Instant.now().toEpochMilli() - startedAt.toEpochMilli());
+        long logsAppended = logPipeline.offered();
+        return new CollectorStats(
+                logsAppended,
+                testPipeline.offered(),
+                logPipeline.contended() + testPipeline.contended(),
+                logPipeline.batches() + testPipeline.batches(),
+                logsAppended * 1000.0 / elapsedMs
+        );
+    }
+
     // ---------- finalize ----------
-    public synchronized RunResult buildFinal() {
-        // Idempotent: if called multiple times, don't duplicate "Run finished"
-        if (finalized) {
-            Instant end = (finishedAt != null) ? finishedAt : Instant.now();
-            long durationMs = end.toEpochMilli() - startedAt.toEpochMilli();
-            Summary summary = summaryFromTests();
-
-            return new RunResult(
-                    runId,
-                    ISO_FMT.format(startedAt),
-                    ISO_FMT.format(end),
-                    durationMs,
-                    metaFromConfig(),
-                    summary,
-                    List.copyOf(tests),
-                    List.copyOf(logs)
-            );
+
+    /**
+     * Snapshot of the whole run including every log line. Loads the journal back into memory,
+     * so prefer {@link #finish()} for writing results.
+     */
+    public synchronized RunResult buildFinal() throws IOException {
+        if (resultsJson != null) {
+            throw new IllegalStateException("Run already written to " + resultsJson);
         }
+        finalizeRun();
+        List<RunLog> all = (journal != null) ? ResultsJournal.read(journal.path()).logs() : logsSnapshot();
+        return snapshot(all);
+    }
+
+    /**
+     * Finalize the run and write results.json + report.html, streaming logs from the journal.
+     * Idempotent: later calls return the already written file.
+     */
+    public synchronized Path finish() throws Exception {
+        if (resultsJson != null) return resultsJson;
+        finalizeRun();
 
+        if (journal != null) {
+            resultsJson = ResultsWriter.writeFromJournal(snapshot(List.of()), journal.path());
+        } else {
+            resultsJson = ResultsWriter.write(snapshot(logsSnapshot()));
+        }
+        return resultsJson;
+    }
+
+    private void finalizeRun() throws IOException {
+        if (finalized) return;
         finalized = true;
         this.finishedAt = Instant.now();
 
+        drain();
         long durationMs = finishedAt.toEpochMilli() - startedAt.toEpochMilli();
         Summary summary = summaryFromTests();
 
+        CollectorStats stats = stats();
+        info("RUN", String.format(Locale.ROOT,
+                "Collector: logs=%d tests=%d contendedAppends=%d drainBatches=%d throughput=%.1f logs/s",
+                stats.logsAppended(), stats.testsAppended(), stats.contendedAppends(),
+                stats.drainBatches(), stats.logsPerSecond()));
+
         info("RUN", "Run finished: passed=" + summary.passed()
                 + " failed=" + summary.failed()
+                + " flaky=" + summary.flaky()
+                + " blocked=" + summary.blocked()
                 + " total=" + summary.total()
                 + " durationMs=" + durationMs);
 
+        flusher.shutdown();
+        drain();
+        if (journal != null) journal.close();
+    }
+
+    private RunResult snapshot(List<RunLog> runLogs) {
+        Instant end = (finishedAt != null) ? finishedAt : Instant.now();
         return new RunResult(
                 runId,
                 ISO_FMT.format(startedAt),
-                ISO_FMT.format(finishedAt),
-                durationMs,
+                ISO_FMT.format(end),
+                end.toEpochMilli() - startedAt.toEpochMilli(),
                 metaFromConfig(),
-                summary,
+                summaryFromTests(),
                 List.copyOf(tests),
-                List.copyOf(logs)
+                runLogs
         );
     }
 
+    /** Background flush: the scheduled consumer. */
+    private synchronized void flush() {
+        if (finalized) return;
+        try {
+            drain();
+        } catch (IOException e) {
+            // keep running; a broken journal surfaces again when finish() writes results.json
+        }
+    }
+
+    private void drain() throws IOException {
+        List<TestResult> newTests = testPipeline.drain();
+        tests.addAll(newTests);
+
+        List<RunLog> newLogs = logPipeline.drain();
+        if (journal == null) {
+            logs.addAll(newLogs);
+            return;
+        }
+
+        for (TestResult t : newTests) journal.appendTest(t);
+        for (RunLog l : newLogs) journal.appendLog(l);
+        journal.flush();
+    }
+
+    private List<RunLog> logsSnapshot() {
+        return List.copyOf(logs);
+    }
+
     private RunMeta metaFromConfig() {
         return new RunMeta(
                 config.baseUrl(),
@@ -148,9 +314,6 @@ public final class RunCollector {
     }
 
     private Summary summaryFromTests() {
-        int total = tests.size();
-        int failed = (int) tests.stream().filter(t -> "FAILED".equals(t.status())).count();
-        int passed = total - failed;
-        return new Summary(total, passed, failed);
+        return Summary.of(tests);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,23 @@
 package io.reliabilitykit.reporting;
 
+import java.util.List;
+
 public record Summary(
         int total,
-        int passed,
-        int failed
-) {}
\ No newline at end of file
+        int passed,     // includes flaky
+        int failed,
+        int flaky,      // passed only after a retry
+        int blocked     // not run: the circuit breaker was open
+) {
+    public static Summary of(List<TestResult> tests) {
+        int failed = 0;
+        int flaky = 0;
+        int blocked = 0;
+        for (TestResult t : tests) {
+            if ("FAILED".equals(t.status())) failed++;
+            else if ("FLAKY".equals(t.status())) flaky++;
+            else if ("BLOCKED".equals(t.status())) blocked++;
+        }
+        return new Summary(tests.size(), tests.size() - failed - blocked, failed, flaky, blocked);
+    }
+}
@@ -0,0 +1,10 @@
+package io.reliabilitykit.reporting;
+
+/** One execution of a retried test; see {@link TestResult#attempts()}. */
+public record TestAttempt(
+        int attempt,            // 1-based
+        String status,          // PASSED / FAILED
+        long durationMs,
+        String failureType,     // nullable
+        String errorMessage     // nullable, one line
+) {}
@@ -1,11 +1,15 @@
 package io.reliabilitykit.reporting;
 
+import java.util.List;
+
 public record TestResult(
         String testId,
-        String status,
+        String status,          // PASSED / FAILED / FLAKY (passed on a retry) / BLOCKED (skipped by the circuit breaker)
         long durationMs,
+        long contextSetupMs,
         String errorMessage,
         String failureType,
         String failureHint,
-        ArtifactPaths artifacts
-) {}
\ No newline at end of file
+        ArtifactPaths artifacts,
+        List<TestAttempt> attempts  // null unless the test was retried
+) {}
@@ -0,0 +1,64 @@
+package io.reliabilitykit.framework;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background writer for failure artifacts.
+ *
+ * The test thread captures what needs the (thread-confined) Playwright objects - screenshot
+ * bytes, tracing stop - and hands the rest to this pool: writing files, checking what landed
+ * on disk and recording the TestResult. The queue is bounded and a full queue runs the task
+ * on the caller, so a burst of failures cannot pile up unbounded screenshot buffers.
+ */
+public final class ArtifactWriter {
+
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long DRAIN_TIMEOUT_SECONDS = 300;
+
+    private static ThreadPoolExecutor executor;
+
+    private ArtifactWriter() {}
+
+    public static void submit(Runnable task) {
+        // Under the lock so a concurrent drain() never sees a task rejected by a shut-down pool
+        synchronized (ArtifactWriter.class) {
+            executor().execute(task);
+        }
+    }
+
+    /**
+     * Waits for every submitted task. Called before results.json is written so no TestResult
+     * is still in flight. A later submit starts a fresh pool.
+     *
+     * @return false if tasks were still running when the wait timed out
+     */
+    public static boolean drain() throws InterruptedException {
+        ThreadPoolExecutor ex;
+        synchronized (ArtifactWriter.class) {
+            ex = executor;
+            executor = null;
+        }
+        if (ex == null) return true;
+        ex.shutdown();
+        return ex.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            AtomicInteger n = new AtomicInteger();
+            executor = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                    r -> {
+                        Thread t = new Thread(r, "rk-artifact-writer-" + n.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,185 @@
+package io.reliabilitykit.framework;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Run-wide LRU of static responses (scripts, styles, fonts, images) from the baseUrl origin,
+ * served to every context through {@code context.route}. Bodies live in direct buffers so a
+ * large cache adds no GC pressure; total body bytes are capped at {@code assetCacheMaxMb}.
+ *
+ * Route handlers run on whichever worker thread drives that context, so the map is guarded by
+ * its own lock. Only successful, storable GET responses are cached.
+ */
+public final class AssetCache {
+
+    private static final Set<String> STATIC_TYPES = Set.of("script", "stylesheet", "font", "image");
+    private static final Set<String> STATIC_EXTENSIONS = Set.of(
+            "js", "mjs", "css", "woff", "woff2", "ttf", "otf", "eot",
+            "png", "jpg", "jpeg", "gif", "svg", "webp", "avif", "ico");
+
+    // The fetched body is already decoded, and cookies must not leak between tests
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "set-cookie");
+
+    private record Entry(int status, Map<String, String> headers, ByteBuffer body) {}
+
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private static long bytes;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder bytesServed = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+    private static final LongAdder fetchFailures = new LongAdder();
+
+    private AssetCache() {}
+
+    public static void install(BrowserContext ctx, ToolkitConfig config) {
+        String origin = origin(config.baseUrl());
+        long maxBytes = config.assetCacheMaxMb() * 1024L * 1024L;
+        Predicate<String> candidate = url -> url.startsWith(origin) && hasStaticExtension(url);
+        ctx.route(candidate, route -> handle(route, maxBytes));
+    }
+
+    public static String summary() {
+        long h = hits.sum();
+        long m = misses.sum();
+        synchronized (entries) {
+            return "Asset cache: hits=" + h
+                    + " misses=" + m
+                    + " hitRate=" + (h + m == 0 ? "n/a" : String.format(Locale.ROOT, "%.1f%%", h * 100.0 / (h + m)))
+                    + " servedKb=" + bytesServed.sum() / 1024
+                    + " entries=" + entries.size()
+                    + " sizeKb=" + bytes / 1024
+                    + " evictions=" + evictions.sum()
+                    + " fetchFailures=" + fetchFailures.sum();
+        }
+    }
+
+    /** Drop every cached response (end of run). */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    private static void handle(Route route, long maxBytes) {
+        Request request = route.request();
+        if (!"GET".equals(request.method()) || !STATIC_TYPES.contains(request.resourceType())) {
+            route.fallback();
+            return;
+        }
+
+        String url = request.url();
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(url);
+        }
+
+        if (cached != null) {
+            byte[] body = new byte[cached.body().remaining()];
+            cached.body().duplicate().get(body);
+            hits.increment();
+            bytesServed.add(body.length);
+            fulfill(route, cached.status(), cached.headers(), body);
+            return;
+        }
+
+        misses.increment();
+        APIResponse response;
+        byte[] body;
+        try {
+            response = route.fetch();
+            body = response.body();
+        } catch (PlaywrightException e) {
+            // Connection reset, DNS failure, timeout: an exception here would surface in whatever
+            // Playwright call the test is in. Let the browser make the request itself instead, so
+            // the page sees the same failure it would without the cache.
+            fetchFailures.increment();
+            try {
+                route.fallback();
+            } catch (PlaywrightException ignored) {
+                // page or context already closed
+            }
+            return;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.headers().forEach((k, v) -> {
+            if (!DROPPED_HEADERS.contains(k.toLowerCase(Locale.ROOT))) headers.put(k, v);
+        });
+
+        if (response.status() == 200 && storable(response.headers()) && body.length <= maxBytes / 4) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(body.length).put(body).flip();
+            put(url, new Entry(response.status(), headers, buffer), maxBytes);
+        }
+
+        fulfill(route, response.status(), headers, body);
+    }
+
+    private static void fulfill(Route route, int status, Map<String, String> headers, byte[] body) {
+        try {
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(status)
+                    .setHeaders(headers)
+                    .setBodyBytes(body));
+        } catch (PlaywrightException ignored) {
+            // page or context closed while the response was prepared
+        }
+    }
+
+    private static void put(String url, Entry entry, long maxBytes) {
+        synchronized (entries) {
+            Entry previous = entries.put(url, entry);
+            if (previous != null) bytes -= previous.body().capacity();
+            bytes += entry.body().capacity();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().body().capacity();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static boolean storable(Map<String, String> headers) {
+        for (Map.Entry<String, String> h : headers.entrySet()) {
+            if (h.getKey().equalsIgnoreCase("cache-control")) {
+                String v = h.getValue().toLowerCase(Locale.ROOT);
+                if (v.contains("no-store") || v.contains("private")) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasStaticExtension(String url) {
+        int end = url.length();
+        int q = url.indexOf('?');
+        if (q >= 0) end = q;
+        int hash = url.indexOf('#');
+        if (hash >= 0 && hash < end) end = hash;
+        int dot = url.lastIndexOf('.', end);
+        int slash = url.lastIndexOf('/', end);
+        if (dot < 0 || dot < slash) return false;
+        return STATIC_EXTENSIONS.contains(url.substring(dot + 1, end).toLowerCase(Locale.ROOT));
+    }
+
+    private static String origin(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+}
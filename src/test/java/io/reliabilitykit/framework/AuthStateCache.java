@@ -0,0 +1,143 @@
+package io.reliabilitykit.framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import io.reliabilitykit.reporting.LogLevel;
+import io.reliabilitykit.reporting.ResultsWriter;
+import io.reliabilitykit.reporting.RunCollector;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk cache of logged-in storageState, under {@code results/.auth/}, keyed by baseUrl + user.
+ *
+ * A cached state is reused until it is older than {@code authStateTtlMinutes}, one of its
+ * cookies is about to expire, or a test seeded from it failed (the server may have ended the
+ * session early, see {@link #invalidate}); then the first worker that needs it logs in again through the
+ * hook while workers needing the same key wait for the fresh file. The state holds live
+ * session cookies, so keep the results directory out of version control.
+ */
+public final class AuthStateCache {
+
+    static final String DIR_NAME = ".auth";
+
+    // Don't hand out a session that expires while the test is still running
+    private static final Duration COOKIE_EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final Map<Class<? extends LoginHook>, LoginHook> hooks = new ConcurrentHashMap<>();
+
+    private AuthStateCache() {}
+
+    /** Path of a valid storageState for {@code hookType}, logging in on {@code browser} if needed. */
+    public static Path storageState(Browser browser, ToolkitConfig config, Class<? extends LoginHook> hookType,
+                                    RunCollector collector) throws Exception {
+        LoginHook hook = hooks.computeIfAbsent(hookType, AuthStateCache::instantiate);
+        String key = key(config.baseUrl(), hook.user());
+        Path file = ResultsWriter.resultsRoot().resolve(DIR_NAME).resolve(key + ".json");
+
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            String stale = staleReason(file, config);
+            if (stale == null) {
+                collector.browser(LogLevel.DEBUG, "Auth state reused: user=" + hook.user() + " file=" + file);
+                return file;
+            }
+
+            long started = System.nanoTime();
+            login(browser, config, hook, file);
+            collector.browser(LogLevel.INFO, "Auth state refreshed: user=" + hook.user()
+                    + " reason=" + stale
+                    + " loginMs=" + (System.nanoTime() - started) / 1_000_000);
+            return file;
+        }
+    }
+
+    private static void login(Browser browser, ToolkitConfig config, LoginHook hook, Path file) throws Exception {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        BrowserContext ctx = browser.newContext();
+        try {
+            ctx.setDefaultTimeout(config.timeoutMs());
+            ctx.setDefaultNavigationTimeout(config.timeoutMs());
+            Page page = ctx.newPage();
+            hook.login(page, config);
+            ctx.storageState(new BrowserContext.StorageStateOptions().setPath(tmp));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            ctx.close();
+            // Only left behind by a failed login
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Drop the state a failed test was seeded from, so the next test (or retry) logs in again
+     * instead of starting logged out until the TTL runs out. A file refreshed by another worker
+     * after {@code testStarted} is kept. Returns whether the file was deleted.
+     */
+    public static boolean invalidate(Path file, Instant testStarted) {
+        String key = file.getFileName().toString().replaceFirst("\\.json$", "");
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            try {
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(testStarted)) return false;
+                return Files.deleteIfExists(file);
+            } catch (Exception e) {
+                return false;  // already gone
+            }
+        }
+    }
+
+    /** Why {@code file} can't be used, or null if it can. */
+    private static String staleReason(Path file, ToolkitConfig config) {
+        try {
+            if (!Files.exists(file)) return "missing";
+
+            Instant written = Files.getLastModifiedTime(file).toInstant();
+            if (written.plus(Duration.ofMinutes(config.authStateTtlMinutes())).isBefore(Instant.now())) {
+                return "ttl";
+            }
+
+            // Playwright writes expires as epoch seconds, -1 for session cookies
+            long limit = Instant.now().plus(COOKIE_EXPIRY_MARGIN).getEpochSecond();
+            for (JsonNode cookie : MAPPER.readTree(file.toFile()).path("cookies")) {
+                double expires = cookie.path("expires").asDouble(-1);
+                if (expires > 0 && expires < limit) return "cookie " + cookie.path("name").asText() + " expiring";
+            }
+            return null;
+        } catch (Exception e) {
+            return "unreadable";
+        }
+    }
+
+    private static String key(String baseUrl, String user) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((baseUrl + "|" + user).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LoginHook instantiate(Class<? extends LoginHook> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("LoginHook needs a public no-arg constructor: " + type.getName(), e);
+        }
+    }
+}
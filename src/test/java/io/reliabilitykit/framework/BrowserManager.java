@@ -2,37 +2,163 @@ package io.reliabilitykit.framework;
 
 import com.microsoft.playwright.*;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of Playwright/Browser slots shared by JUnit workers.
+ *
+ * Playwright objects are not thread-safe, so a slot is leased to exactly one worker
+ * at a time (acquire/release). Each worker prefers the slot it used last, so with
+ * parallelism == browserPoolSize every worker keeps its own Playwright.
+ *
+ * Under {@code rk daemon} slots come from and go back to {@link WarmBrowsers}, so browsers
+ * stay launched between runs.
+ */
 public final class BrowserManager {
-    private static Playwright playwright;
-    private static Browser browser;
+
+    private static final class Slot {
+        final int id;
+        final Playwright playwright;
+        final Browser browser;
+        final String warmKey;
+
+        Slot(int id, Playwright playwright, Browser browser, String warmKey) {
+            this.id = id;
+            this.playwright = playwright;
+            this.browser = browser;
+            this.warmKey = warmKey;
+        }
+    }
+
+    private static final List<Slot> slots = new ArrayList<>();
+    private static final Deque<Slot> idle = new ArrayDeque<>();
+    private static final Map<Browser, Slot> leased = new IdentityHashMap<>();
+    private static final ThreadLocal<Slot> affinity = new ThreadLocal<>();
+
+    private static int poolSize = 0;
+    private static int launching = 0;
+    private static int nextSlotId = 0;
 
     private BrowserManager() {}
 
-    public static synchronized Browser getBrowser(ToolkitConfig config) {
-        if (browser == null) {
-            playwright = Playwright.create();
+    /**
+     * Lease a browser for the calling thread. Blocks while every slot is in use.
+     * Must be paired with {@link #release(Browser)}.
+     */
+    public static Browser acquire(ToolkitConfig config) throws InterruptedException {
+        Slot preferred = affinity.get();
+        int newSlotId = -1;
+
+        synchronized (BrowserManager.class) {
+            if (poolSize == 0) poolSize = config.browserPoolSize();
+
+            while (true) {
+                if (preferred != null && idle.remove(preferred)) {
+                    leased.put(preferred.browser, preferred);
+                    return preferred.browser;
+                }
+                // Grow before stealing another worker's slot so affinity holds
+                if (slots.size() + launching < poolSize) {
+                    launching++;
+                    newSlotId = ++nextSlotId;
+                    break;
+                }
+                Slot any = idle.poll();
+                if (any != null) {
+                    leased.put(any.browser, any);
+                    affinity.set(any);
+                    return any.browser;
+                }
+                BrowserManager.class.wait();
+            }
+        }
+
+        // Launch outside the lock so workers start their browsers concurrently
+        Slot slot = null;
+        try {
+            slot = launch(newSlotId, config);
+        } finally {
+            synchronized (BrowserManager.class) {
+                launching--;
+                if (slot != null) {
+                    slots.add(slot);
+                    leased.put(slot.browser, slot);
+                }
+                BrowserManager.class.notifyAll();
+            }
+        }
+
+        affinity.set(slot);
+        return slot.browser;
+    }
+
+    public static synchronized void release(Browser browser) {
+        Slot slot = leased.remove(browser);
+        if (slot == null) return;
+        idle.addFirst(slot);
+        BrowserManager.class.notifyAll();
+    }
+
+    public static synchronized int poolSize() {
+        return poolSize;
+    }
+
+    public static synchronized int slotId(Browser browser) {
+        Slot slot = leased.get(browser);
+        return slot == null ? -1 : slot.id;
+    }
 
+    public static synchronized void shutdown() {
+        ContextPool.clear();
+        boolean keep = WarmBrowsers.enabled();
+        for (Slot slot : slots) {
+            if (keep) {
+                WarmBrowsers.park(slot.warmKey, slot.playwright, slot.browser);
+                continue;
+            }
+            try {
+                slot.browser.close();
+            } catch (Exception ignored) {}
+            try {
+                slot.playwright.close();
+            } catch (Exception ignored) {}
+        }
+        slots.clear();
+        idle.clear();
+        leased.clear();
+        poolSize = 0;
+        nextSlotId = 0;
+        BrowserManager.class.notifyAll();
+    }
+
+    private static Slot launch(int id, ToolkitConfig config) {
+        String warmKey = WarmBrowsers.key(config);
+        if (WarmBrowsers.enabled()) {
+            WarmBrowsers.Warm warm = WarmBrowsers.take(warmKey);
+            if (warm != null) return new Slot(id, warm.playwright(), warm.browser(), warmKey);
+        }
+
+        Playwright playwright = Playwright.create();
+        try {
             BrowserType browserType = switch (config.browser()) {
                 case CHROMIUM -> playwright.chromium();
                 case FIREFOX -> playwright.firefox();
                 case WEBKIT -> playwright.webkit();
             };
 
-            browser = browserType.launch(new BrowserType.LaunchOptions()
+            Browser browser = browserType.launch(new BrowserType.LaunchOptions()
                     .setHeadless(config.headless())
                     .setSlowMo(config.slowMoMs()));
-        }
-        return browser;
-    }
 
-    public static synchronized void shutdown() {
-        if (browser != null) {
-            browser.close();
-            browser = null;
-        }
-        if (playwright != null) {
+            return new Slot(id, playwright, browser, warmKey);
+        } catch (RuntimeException e) {
             playwright.close();
-            playwright = null;
+            throw e;
         }
     }
-}
\ No newline at end of file
+}
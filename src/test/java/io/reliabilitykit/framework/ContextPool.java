@@ -0,0 +1,204 @@
+package io.reliabilitykit.framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warm BrowserContext (+ Page) per browser slot, reused across tests.
+ *
+ * Playwright objects are confined to the thread holding the browser lease, so warming can't
+ * happen on a separate thread. Instead the next context is prepared in {@link #release}, after
+ * the finished test has been timed, and is waiting when the next test on that slot starts.
+ * A released context is reset (pages closed, cookies, permissions, routes, headers cleared) and
+ * reused; it is replaced instead if the test failed, it has served {@code contextMaxUses} tests,
+ * or it still holds localStorage that cannot be cleared without navigating.
+ *
+ * IndexedDB, Cache Storage and service workers don't show up in storageState, so each context
+ * tracks the origins its pages navigated to. On Chromium their site data is cleared over CDP;
+ * on other browsers a context that visited any origin is replaced, so pooling only takes effect
+ * on Chromium. See ContextIsolationTest.
+ *
+ * Contexts seeded from a storageState (see {@link AuthStateCache}) are never pooled: they are
+ * created per test and closed afterwards, leaving the slot's warm context untouched.
+ */
+public final class ContextPool {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Stands for an origin whose site data can't be cleared (e.g. file:), forcing a replacement
+    private static final String UNCLEARABLE = "*";
+
+    // What Storage.clearDataForOrigin drops on top of the reset; localStorage is checked separately
+    private static final String SITE_DATA = "indexeddb,cache_storage,service_workers,websql,file_systems,shader_cache";
+
+    /**
+     * A ready context; {@code uses} counts the tests it has already served, {@code origins} the
+     * origins navigated to since it was created or last reset.
+     */
+    public record Lease(BrowserContext context, Page page, int uses, boolean warm, boolean pooled,
+                        Set<String> origins) {}
+
+    // An entry is only used by the thread holding that browser's lease; the map itself is shared
+    private static final Map<Browser, Lease> ready = new IdentityHashMap<>();
+
+    private ContextPool() {}
+
+    public static Lease acquire(Browser browser, ToolkitConfig config) {
+        return acquire(browser, config, null);
+    }
+
+    public static Lease acquire(Browser browser, ToolkitConfig config, Path storageState) {
+        if (storageState != null) {
+            BrowserContext ctx = browser.newContext(new Browser.NewContextOptions().setStorageStatePath(storageState));
+            configure(ctx, config);
+            return new Lease(ctx, ctx.newPage(), 1, false, false, Set.of());
+        }
+
+        Lease warm;
+        synchronized (ready) {
+            warm = ready.remove(browser);
+        }
+        Lease lease = warm != null ? warm : create(browser, config, 0, false);
+        return new Lease(lease.context(), lease.page(), lease.uses() + 1, warm != null, true, lease.origins());
+    }
+
+    /**
+     * Hand the context back after a test. Must be called while the browser is still leased.
+     *
+     * @return what happened to the context, for the run log
+     */
+    public static String release(Browser browser, Lease lease, boolean failed, ToolkitConfig config) {
+        if (!lease.pooled()) {
+            closeQuietly(lease.context());
+            return "closed (seeded from storageState)";
+        }
+
+        String outcome;
+        Lease next = null;
+
+        if (failed) {
+            outcome = "replaced (test failed)";
+        } else if (lease.uses() >= config.contextMaxUses()) {
+            outcome = "replaced (uses=" + lease.uses() + ")";
+        } else {
+            try {
+                next = reset(lease, config);
+                outcome = next != null ? "reset (uses=" + lease.uses() + ")" : "replaced (site data left behind)";
+            } catch (Exception e) {
+                outcome = "replaced (reset failed: " + e.getMessage() + ")";
+            }
+        }
+
+        if (next == null) {
+            closeQuietly(lease.context());
+            try {
+                next = create(browser, config, 0, true);
+            } catch (RuntimeException e) {
+                // Leave the slot cold; the next acquire creates one and surfaces the error in its test
+                return outcome + ", warm-up failed: " + e.getMessage();
+            }
+        }
+        synchronized (ready) {
+            ready.put(browser, next);
+        }
+        return outcome;
+    }
+
+    /** Forget every warm context; their browsers are about to be closed. */
+    public static void clear() {
+        synchronized (ready) {
+            ready.clear();
+        }
+    }
+
+    private static Lease create(Browser browser, ToolkitConfig config, int uses, boolean warm) {
+        BrowserContext ctx = browser.newContext();
+        configure(ctx, config);
+        Set<String> origins = ConcurrentHashMap.newKeySet();
+        ctx.onRequest(r -> track(r, origins));
+        return new Lease(ctx, ctx.newPage(), uses, warm, true, origins);
+    }
+
+    private static void track(Request request, Set<String> origins) {
+        if (!request.isNavigationRequest()) return;
+        String url = request.url();
+        if (url.startsWith("blob:")) url = url.substring("blob:".length());
+        if (url.startsWith("about:") || url.startsWith("data:")) return;
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !(scheme.equals("http") || scheme.equals("https"))) {
+                origins.add(UNCLEARABLE);
+                return;
+            }
+            origins.add(scheme + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+        } catch (IllegalArgumentException e) {
+            origins.add(UNCLEARABLE);
+        }
+    }
+
+    private static void configure(BrowserContext ctx, ToolkitConfig config) {
+        ctx.setDefaultTimeout(config.timeoutMs());
+        ctx.setDefaultNavigationTimeout(config.timeoutMs());
+    }
+
+    private static Lease reset(Lease lease, ToolkitConfig config) throws Exception {
+        BrowserContext ctx = lease.context();
+
+        // Closing the pages drops sessionStorage and any page-level handlers
+        for (Page p : ctx.pages()) p.close();
+        ctx.clearCookies();
+        ctx.clearPermissions();
+        ctx.unrouteAll();
+        ctx.setExtraHTTPHeaders(Map.of());
+        ctx.setOffline(false);
+        configure(ctx, config);
+
+        JsonNode origins = MAPPER.readTree(ctx.storageState()).path("origins");
+        if (origins.isArray() && !origins.isEmpty()) return null;
+
+        Page page = ctx.newPage();
+        if (!lease.origins().isEmpty()) {
+            if (config.browser() != ToolkitConfig.BrowserName.CHROMIUM || lease.origins().contains(UNCLEARABLE)) {
+                return null;
+            }
+            clearSiteData(ctx, page, lease.origins());
+            lease.origins().clear();
+        }
+        return new Lease(ctx, page, lease.uses(), true, true, lease.origins());
+    }
+
+    /** Drop IndexedDB, Cache Storage and service workers of {@code origins} in this context. */
+    private static void clearSiteData(BrowserContext ctx, Page page, Set<String> origins) {
+        CDPSession cdp = ctx.newCDPSession(page);
+        try {
+            for (String origin : origins) {
+                JsonObject params = new JsonObject();
+                params.addProperty("origin", origin);
+                params.addProperty("storageTypes", SITE_DATA);
+                cdp.send("Storage.clearDataForOrigin", params);
+            }
+        } finally {
+            cdp.detach();
+        }
+    }
+
+    private static void closeQuietly(BrowserContext ctx) {
+        try {
+            ctx.close();
+        } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,54 @@
+package io.reliabilitykit.framework;
+
+import io.reliabilitykit.analytics.RunHistory;
+import io.reliabilitykit.analytics.TestStats;
+import io.reliabilitykit.reporting.RunCollector;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-test flakiness scores ({@link TestStats#flakinessScore()}) from earlier runs, loaded once
+ * per run on first use. Tests that never flipped in history are absent and score 0.
+ */
+public final class FlakyHistory {
+
+    private static volatile Map<String, Double> scores;
+
+    private FlakyHistory() {}
+
+    public static double score(String testId, RunCollector collector) {
+        return scores(collector).getOrDefault(testId, 0.0);
+    }
+
+    public static boolean isFlaky(String testId, RunCollector collector) {
+        return score(testId, collector) > 0;
+    }
+
+    private static Map<String, Double> scores(RunCollector collector) {
+        Map<String, Double> s = scores;
+        if (s == null) {
+            synchronized (FlakyHistory.class) {
+                s = scores;
+                if (s == null) {
+                    s = load(collector);
+                    scores = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    private static Map<String, Double> load(RunCollector collector) {
+        try {
+            Map<String, Double> flaky = RunHistory.loadAll().perTest.values().stream()
+                    .filter(TestStats::flaky)
+                    .collect(Collectors.toUnmodifiableMap(t -> t.testId, TestStats::flakinessScore));
+            collector.info("RUN", "Flaky history: " + flaky.size() + " flaky tests in history");
+            return flaky;
+        } catch (Exception e) {
+            collector.warn("RUN", "Flaky history unavailable, treating every test as stable: " + e);
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.reliabilitykit.framework;
+
+import com.microsoft.playwright.Page;
+
+/**
+ * Logs a fresh page into the application under test. Registered on a test class or method with
+ * {@link LoginWith}; the resulting storageState is cached and seeds the test's BrowserContext,
+ * so the UI login runs once per user and base URL instead of once per test.
+ *
+ * Implementations need a public no-arg constructor.
+ */
+public interface LoginHook {
+
+    /** Identity the cached state belongs to; part of the cache key together with baseUrl. */
+    String user();
+
+    /** Drive the login flow; return once the page is authenticated. */
+    void login(Page page, ToolkitConfig config);
+}
@@ -0,0 +1,13 @@
+package io.reliabilitykit.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Start the test already logged in through the given hook (see {@link LoginHook}). */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LoginWith {
+    Class<? extends LoginHook> value();
+}
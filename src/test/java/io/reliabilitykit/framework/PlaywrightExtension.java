@@ -3,12 +3,19 @@ package io.reliabilitykit.framework;
 import com.microsoft.playwright.*;
 import io.reliabilitykit.reporting.*;
 import org.junit.jupiter.api.extension.*;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.TestAbortedException;
 
 import java.nio.file.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
-public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallback, AfterAllCallback, ParameterResolver {
+public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver,
+        TestTemplateInvocationContextProvider, TestExecutionExceptionHandler {
 
     private static final ExtensionContext.Namespace NAMESPACE =
             ExtensionContext.Namespace.create(PlaywrightExtension.class);
@@ -19,12 +26,29 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
     public void beforeEach(ExtensionContext context) throws Exception {
         ToolkitConfig config = ToolkitConfig.load();
         store(context).put("config", config);
-        store(context).put("testStartMs", System.currentTimeMillis());
 
         String testId = testId(context);
 
         // Ensure collector exists + log test start with key config
         RunCollector collector = RunCollector.get(config);
+
+        // Finish the run once, after every test class (possibly running in parallel) is done
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent("runFinisher", k -> new RunFinisher(), RunFinisher.class);
+
+        // Environment looks down: don't wait out another timeout, afterEach records the test as BLOCKED.
+        // A retry belongs to a test that already started, so it finishes normally.
+        Attempts attempts = attempts(context);
+        String blocked = attempts != null && attempts.retrying ? null : collector.blockedReason();
+        if (attempts != null) {
+            attempts.retrying = false;
+            attempts.started++;
+        }
+        if (blocked != null) {
+            store(context).put("blocked", blocked);
+            throw new TestAbortedException("Blocked by circuit breaker: " + blocked);
+        }
+
         collector.test(LogLevel.INFO, testId,
                 "Test started: " + testId
                         + " browser=" + config.browser().name()
@@ -34,25 +58,127 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
                         + " slowMoMs=" + config.slowMoMs()
         );
 
-        Browser browser = BrowserManager.getBrowser(config);
-        BrowserContext ctx = browser.newContext();
+        Browser browser = BrowserManager.acquire(config);
+        store(context).put("browser", browser);
+        collector.browser(LogLevel.DEBUG, "Browser leased: slot=" + BrowserManager.slotId(browser)
+                + "/" + BrowserManager.poolSize() + " thread=" + Thread.currentThread().getName());
+
+        long setupStart = System.nanoTime();
+        LoginWith loginWith = loginWith(context);
+        Path storageState = loginWith == null ? null
+                : AuthStateCache.storageState(browser, config, loginWith.value(), collector);
+        if (storageState != null) store(context).put("storageState", storageState);
+        ContextPool.Lease lease = ContextPool.acquire(browser, config, storageState);
+        // Pooled contexts come back with routes cleared, so the handler goes on per test
+        if (config.assetCache()) AssetCache.install(lease.context(), config);
+        long contextSetupMs = (System.nanoTime() - setupStart) / 1_000_000;
+        store(context).put("contextLease", lease);
+        store(context).put("contextSetupMs", contextSetupMs);
+        collector.browser(LogLevel.DEBUG, "Context ready: warm=" + lease.warm() + " use=" + lease.uses()
+                + "/" + config.contextMaxUses() + " setupMs=" + contextSetupMs);
+
+        startTracing(context, config, testId, lease.context(), collector);
+
+        // Test time starts here; context setup is reported separately
+        store(context).put("testStartMs", System.currentTimeMillis());
+    }
+
+    private void startTracing(ExtensionContext context, ToolkitConfig config, String testId,
+                              BrowserContext ctx, RunCollector collector) {
+        boolean tracing = TracingPolicy.shouldTrace(config, testId, collector);
+        store(context).put("tracing", tracing);
+
+        if (tracing) {
+            // Start tracing + log
+            long traceStart = System.nanoTime();
+            ctx.tracing().start(new Tracing.StartOptions()
+                    .setScreenshots(true)
+                    .setSnapshots(true)
+                    .setSources(true));
+            store(context).put("tracingStartNanos", System.nanoTime() - traceStart);
+
+            collector.trace(LogLevel.INFO, testId,
+                    "Tracing started: screenshots=true snapshots=true sources=true");
+        } else {
+            TracingPolicy.recordSkipped();
+            long saved = TracingPolicy.avgOverheadMs();
+            collector.trace(LogLevel.INFO, testId, "Tracing skipped: mode=" + TracingPolicy.label(config)
+                    + " estSavedMs=" + (saved < 0 ? "n/a" : saved));
+        }
+    }
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return AnnotationSupport.isAnnotated(context.getTestMethod(), RetryingTest.class);
+    }
+
+    /**
+     * One invocation per attempt of a {@link RetryingTest}. The stream is consumed lazily: the
+     * next attempt is only produced after the previous one failed and was marked for a retry.
+     */
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        Attempts attempts = new Attempts();
+        store(context).put("attempts", attempts);
+        return Stream.iterate(1, n -> n + 1)
+                .takeWhile(n -> n == 1 || attempts.retrying)
+                .map(n -> new TestTemplateInvocationContext() {
+                    @Override
+                    public String getDisplayName(int invocationIndex) {
+                        return "attempt " + invocationIndex;
+                    }
+                });
+    }
+
+    /**
+     * Decides whether a failed attempt of a {@link RetryingTest} gets another one. If so, the
+     * failure is recorded and rethrown as aborted, so only the final attempt can fail the test.
+     */
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable failure) throws Throwable {
+        Attempts attempts = attempts(context);
+        ToolkitConfig cfg = store(context).get("config", ToolkitConfig.class);
+        if (attempts == null || cfg == null) throw failure;
+
+        RunCollector collector = RunCollector.get(cfg);
+        String testId = testId(context);
+        int attempt = attempts.started;
+        TestAttempt failed = failedAttempt(attempt, store(context).get("testStartMs", Long.class), failure);
 
-        ctx.setDefaultTimeout(config.timeoutMs());
-        ctx.setDefaultNavigationTimeout(config.timeoutMs());
+        if (!RetryPolicy.shouldRetry(cfg, testId, attempt, failure, collector)) {
+            // Attempts are only reported for tests that were retried
+            if (attempt > 1) attempts.list.add(failed);
+            throw failure;
+        }
 
-        // Start tracing + log
-        ctx.tracing().start(new Tracing.StartOptions()
-                .setScreenshots(true)
-                .setSnapshots(true)
-                .setSources(true));
+        attempts.list.add(failed);
+        attempts.retriedFailure = failure;
+        attempts.retrying = true;
+        RetryPolicy.recordRetry();
+        collector.test(LogLevel.WARN, testId, "Attempt " + attempt + " failed, retrying: failureType="
+                + failed.failureType() + " durationMs=" + failed.durationMs()
+                + " error=\"" + failed.errorMessage() + "\"");
+        throw new TestAbortedException("Attempt " + attempt + " failed, retrying: " + oneLine(failure.toString(), 220),
+                failure);
+    }
 
-        collector.trace(LogLevel.INFO, testId,
-                "Tracing started: screenshots=true snapshots=true sources=true");
+    private static TestAttempt failedAttempt(int attempt, Long startedMs, Throwable failure) {
+        String type = io.reliabilitykit.classification.FailureClassifier.classify(failure).type().name();
+        long durationMs = startedMs == null ? 0 : System.currentTimeMillis() - startedMs;
+        return new TestAttempt(attempt, "FAILED", durationMs, type, oneLine(failure.toString(), 320));
+    }
 
-        Page page = ctx.newPage();
+    /** Attempts of one {@link RetryingTest}, kept in the template's store across its invocations. */
+    private static final class Attempts {
+        final List<TestAttempt> list = new ArrayList<>();
+        Throwable retriedFailure;
+        int started;
+        // Set when the last attempt failed and gets another; cleared when that one starts
+        volatile boolean retrying;
+    }
 
-        store(context).put("context", ctx);
-        store(context).put("page", page);
+    private Attempts attempts(ExtensionContext context) {
+        return context.getParent().map(p -> store(p).get("attempts", Attempts.class)).orElse(null);
     }
 
     @Override
@@ -60,79 +186,120 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
         ToolkitConfig cfg = store(context).get("config", ToolkitConfig.class);
         RunCollector collector = RunCollector.get(cfg);
 
-        BrowserContext ctx = store(context).remove("context", BrowserContext.class);
-        Page page = store(context).remove("page", Page.class);
+        String blocked = store(context).remove("blocked", String.class);
+        if (blocked != null) {
+            String testId = testId(context);
+            collector.test(LogLevel.WARN, testId, "Test finished: " + testId + " status=BLOCKED reason=\"" + blocked + "\"");
+            collector.add(new TestResult(testId, "BLOCKED", 0, 0, "Blocked by circuit breaker: " + blocked,
+                    null, null, null, null));
+            return;
+        }
+
+        Long startMs = store(context).remove("testStartMs", Long.class);
+        long durationMs = startMs == null ? 0 : (System.currentTimeMillis() - startMs);
+        Long setupMs = store(context).remove("contextSetupMs", Long.class);
+        long contextSetupMs = setupMs == null ? 0 : setupMs;
+
+        Browser browser = store(context).remove("browser", Browser.class);
+        ContextPool.Lease lease = store(context).remove("contextLease", ContextPool.Lease.class);
+        BrowserContext ctx = lease == null ? null : lease.context();
+        Page page = lease == null ? null : lease.page();
 
         String testId = testId(context);
 
-        boolean failed = context.getExecutionException().isPresent();
+        // A retried attempt only hands its context back; the final attempt records the result
+        Attempts retries = attempts(context);
+        boolean retrying = retries != null && retries.retrying;
+        boolean failed = !retrying && context.getExecutionException().isPresent();
         Throwable error = failed ? context.getExecutionException().orElse(null) : null;
 
+        List<TestAttempt> attempts = retries == null || retries.list.isEmpty() ? null : retries.list;
+        if (!retrying && attempts != null && attempts.size() < retries.started) {
+            if (!failed) RetryPolicy.recordRecovered();
+            // A final attempt that failed outside the test method never reached handleTestExecutionException
+            attempts.add(failed ? failedAttempt(retries.started, startMs, error)
+                    : new TestAttempt(retries.started, "PASSED", durationMs, null, null));
+        }
+        boolean flaky = !failed && !retrying && attempts != null;
+        // A FLAKY result keeps the failure it recovered from
+        if (flaky) error = retries.retriedFailure;
+        // Test time covers every attempt
+        if (attempts != null && !retrying) {
+            for (int i = 0; i < attempts.size() - 1; i++) durationMs += attempts.get(i).durationMs();
+        }
+
         Path dir = null;
-        ArtifactPaths artifacts = null;
+        byte[] screenshotPng = null;
+        Path trace = null;
+
+        boolean tracing = Boolean.TRUE.equals(store(context).remove("tracing", Boolean.class));
+        Long tracingStartNanos = store(context).remove("tracingStartNanos", Long.class);
+
+        // Also makes tracing=on-failure-retry trace the next attempt
+        if (failed || retrying) TracingPolicy.recordFailure(testId);
 
         try {
             if (ctx != null) {
                 if (failed && page != null) {
                     dir = artifactDir(context, collector);
 
-                    Path screenshot = dir.resolve("screenshot.png");
-                    Path trace = dir.resolve("trace.zip");
-
-                    // Screenshot first (best-effort)
+                    // Playwright is confined to this thread: grab the screenshot bytes here, write them later
                     try {
-                        page.screenshot(new Page.ScreenshotOptions()
-                                .setPath(screenshot)
-                                .setFullPage(true));
+                        screenshotPng = page.screenshot(new Page.ScreenshotOptions().setFullPage(true));
                     } catch (Exception e) {
                         collector.artifact(testId, dir.toString(),
                                 "Screenshot capture failed: " + oneLine(e.toString(), 220));
                     }
+                }
 
-                    // Stop tracing and write trace.zip
-                    try {
-                        ctx.tracing().stop(new Tracing.StopOptions().setPath(trace));
-                        collector.trace(LogLevel.WARN, testId, "Tracing stopped: savedTrace=" + trace);
-                    } catch (Exception e) {
-                        collector.trace(LogLevel.WARN, testId, "Tracing stop failed: " + oneLine(e.toString(), 220));
-                    }
-
-                    Path runRoot = Paths.get("results", collector.runId());
-
-                    String relScreenshot = Files.exists(screenshot) ? runRoot.relativize(screenshot).toString() : null;
-                    String relTrace      = Files.exists(trace)      ? runRoot.relativize(trace).toString()      : null;
-
-                    artifacts = new ArtifactPaths(relScreenshot, relTrace);
-
-                    collector.artifact(testId, dir.toString(),
-                            "Artifacts saved: dir=" + dir
-                                    + " screenshot=" + artifacts.screenshotPath()
-                                    + " trace=" + artifacts.tracePath());
-                } else {
-                    // Stop tracing (no file)
-                    try {
-                        ctx.tracing().stop();
-                        collector.trace(LogLevel.INFO, testId, "Tracing stopped (no artifacts)");
-                    } catch (Exception e) {
-                        collector.trace(LogLevel.WARN, testId, "Tracing stop failed: " + oneLine(e.toString(), 220));
+                if (tracing) {
+                    long stopStart = System.nanoTime();
+                    if (dir != null) {
+                        // Stop tracing and write trace.zip
+                        trace = dir.resolve("trace.zip");
+                        try {
+                            ctx.tracing().stop(new Tracing.StopOptions().setPath(trace));
+                            collector.trace(LogLevel.WARN, testId, "Tracing stopped: savedTrace=" + trace);
+                        } catch (Exception e) {
+                            collector.trace(LogLevel.WARN, testId, "Tracing stop failed: " + oneLine(e.toString(), 220));
+                        }
+                    } else {
+                        // Stop tracing (no file)
+                        try {
+                            ctx.tracing().stop();
+                            collector.trace(LogLevel.INFO, testId, "Tracing stopped (no artifacts)");
+                        } catch (Exception e) {
+                            collector.trace(LogLevel.WARN, testId, "Tracing stop failed: " + oneLine(e.toString(), 220));
+                        }
                     }
+                    TracingPolicy.recordTraced((tracingStartNanos == null ? 0 : tracingStartNanos)
+                            + System.nanoTime() - stopStart);
                 }
             }
         } finally {
-            if (ctx != null) {
+            if (lease != null && browser != null) {
                 try {
-                    ctx.close();
-                    collector.browser(LogLevel.INFO, "Context closed");
+                    collector.browser(LogLevel.INFO, "Context "
+                            + ContextPool.release(browser, lease, failed || retrying, cfg));
                 } catch (Exception e) {
-                    collector.browser(LogLevel.WARN, "Context close failed: " + oneLine(e.toString(), 220));
+                    collector.browser(LogLevel.WARN, "Context release failed: " + oneLine(e.toString(), 220));
                 }
             }
+            if (browser != null) {
+                BrowserManager.release(browser);
+            }
         }
 
-        Long startMs = store(context).remove("testStartMs", Long.class);
-        long durationMs = startMs == null ? 0 : (System.currentTimeMillis() - startMs);
+        // The session may have been dropped server-side; don't seed the next test (or retry) with it
+        Path storageState = store(context).remove("storageState", Path.class);
+        if ((failed || retrying) && storageState != null && startMs != null
+                && AuthStateCache.invalidate(storageState, Instant.ofEpochMilli(startMs))) {
+            collector.browser(LogLevel.INFO, "Auth state dropped after failure: test=" + testId + " file=" + storageState);
+        }
 
-        String status = failed ? "FAILED" : "PASSED";
+        if (retrying) return;
+
+        String status = failed ? "FAILED" : flaky ? "FLAKY" : "PASSED";
         String errorMessage = error != null ? error.toString() : null;
 
         String failureType = null;
@@ -145,35 +312,104 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
             failureHint = info.hint();
         }
 
-        // Persist test result
-        collector.add(new TestResult(testId, status, durationMs, errorMessage, failureType, failureHint, artifacts));
-
         // Test finished log (more informative when failed)
         StringBuilder msg = new StringBuilder()
                 .append("Test finished: ").append(testId)
                 .append(" status=").append(status)
-                .append(" durationMs=").append(durationMs);
+                .append(" durationMs=").append(durationMs)
+                .append(" contextSetupMs=").append(contextSetupMs);
 
-        if (failed) {
+        if (attempts != null) msg.append(" attempts=").append(attempts.size());
+        if (failed || flaky) {
             if (failureType != null) msg.append(" failureType=").append(failureType);
             if (failureHint != null) msg.append(" hint=\"").append(failureHint).append("\"");
             if (errorMessage != null) msg.append(" error=\"").append(oneLine(errorMessage, 320)).append("\"");
         }
 
-        collector.test(failed ? LogLevel.WARN : LogLevel.INFO, testId, msg.toString());
+        collector.test(failed || flaky ? LogLevel.WARN : LogLevel.INFO, testId, msg.toString());
+
+        TestResult result = new TestResult(testId, status, durationMs, contextSetupMs, errorMessage, failureType, failureHint,
+                null, attempts);
+        if (dir == null) {
+            // Persist test result
+            collector.add(result);
+            return;
+        }
+
+        // Persist artifacts off the test thread; the result is recorded once they are on disk
+        Path artifactDir = dir;
+        byte[] png = screenshotPng;
+        Path traceFile = trace;
+        ArtifactWriter.submit(() -> {
+            TestResult withArtifacts = result;
+            try {
+                withArtifacts = withArtifacts(result, collector, testId, artifactDir, png, traceFile);
+            } catch (RuntimeException e) {
+                collector.artifact(testId, artifactDir.toString(), "Artifact write failed: " + oneLine(e.toString(), 220));
+            } finally {
+                collector.add(withArtifacts);
+            }
+        });
     }
 
-    @Override
-    public void afterAll(ExtensionContext context) {
-        try {
-            ToolkitConfig cfg = ToolkitConfig.load();
-            RunCollector collector = RunCollector.get(cfg);
-            RunResult result = collector.buildFinal();
-            ResultsWriter.write(result);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to write results.json", e);
-        } finally {
-            BrowserManager.shutdown();
+    private static TestResult withArtifacts(TestResult result, RunCollector collector, String testId,
+                                            Path dir, byte[] png, Path trace) {
+        long started = System.nanoTime();
+        Path screenshot = dir.resolve("screenshot.png");
+
+        if (png != null) {
+            try {
+                Files.write(screenshot, png);
+            } catch (Exception e) {
+                collector.artifact(testId, dir.toString(),
+                        "Screenshot write failed: " + oneLine(e.toString(), 220));
+            }
+        }
+
+        Path runRoot = collector.runDir();
+
+        String relScreenshot = Files.exists(screenshot) ? runRoot.relativize(screenshot).toString() : null;
+        String relTrace      = trace != null && Files.exists(trace) ? runRoot.relativize(trace).toString() : null;
+
+        ArtifactPaths artifacts = new ArtifactPaths(relScreenshot, relTrace);
+
+        collector.artifact(testId, dir.toString(),
+                "Artifacts saved: dir=" + dir
+                        + " screenshot=" + artifacts.screenshotPath()
+                        + " trace=" + artifacts.tracePath()
+                        + " writeMs=" + (System.nanoTime() - started) / 1_000_000);
+
+        return new TestResult(result.testId(), result.status(), result.durationMs(), result.contextSetupMs(),
+                result.errorMessage(),
+                result.failureType(), result.failureHint(), artifacts, result.attempts());
+    }
+
+    /**
+     * Stored in the root context so JUnit closes it exactly once, after the last test class.
+     * A per-class afterAll would shut the browser pool down under classes still running in parallel.
+     */
+    private static final class RunFinisher implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            try {
+                ToolkitConfig cfg = ToolkitConfig.load();
+                RunCollector collector = RunCollector.get(cfg);
+                collector.info("RUN", TracingPolicy.summary(cfg));
+                if (cfg.retries() > 0) collector.info("RUN", RetryPolicy.summary(cfg));
+                if (cfg.assetCache()) {
+                    collector.info("RUN", AssetCache.summary());
+                    AssetCache.clear();
+                }
+                // Failed tests are only recorded once their artifacts are written
+                if (!ArtifactWriter.drain()) {
+                    collector.warn("ARTIFACT", "Artifact writer still busy after timeout; some failed tests may be missing");
+                }
+                collector.finish();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to write results.json", e);
+            } finally {
+                BrowserManager.shutdown();
+            }
         }
     }
 
@@ -184,13 +420,19 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
 
     @Override
     public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
-        return store(extensionContext).get("page", Page.class);
+        ContextPool.Lease lease = store(extensionContext).get("contextLease", ContextPool.Lease.class);
+        return lease == null ? null : lease.page();
     }
 
     private ExtensionContext.Store store(ExtensionContext context) {
         return context.getStore(NAMESPACE);
     }
 
+    private static LoginWith loginWith(ExtensionContext context) {
+        LoginWith onMethod = context.getRequiredTestMethod().getAnnotation(LoginWith.class);
+        return onMethod != null ? onMethod : context.getRequiredTestClass().getAnnotation(LoginWith.class);
+    }
+
     private static String testId(ExtensionContext context) {
         return context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
     }
@@ -202,10 +444,18 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
         String time = LocalDateTime.now().format(TS);
 
         // Put artifacts INSIDE the run directory so report.html can link to them
-        Path dir = Paths.get("results", collector.runId(), "artifacts", testName, time);
-
-        Files.createDirectories(dir);
-        return dir;
+        Path parent = collector.runDir().resolve("artifacts").resolve(testName);
+        Files.createDirectories(parent);
+
+        // Parallel workers can fail the same test within one second; createDirectory is atomic
+        for (int i = 0; ; i++) {
+            Path dir = parent.resolve(i == 0 ? time : time + "_" + i);
+            try {
+                return Files.createDirectory(dir);
+            } catch (FileAlreadyExistsException ignored) {
+                // taken by another worker, try the next suffix
+            }
+        }
     }
 
     private static String oneLine(String s, int maxLen) {
@@ -0,0 +1,49 @@
+package io.reliabilitykit.framework;
+
+import io.reliabilitykit.reporting.RunCollector;
+import org.opentest4j.TestAbortedException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a failed attempt gets another one, per {@link ToolkitConfig#retries()}.
+ *
+ * Only tests that history shows as flaky are retried: retrying a test that always fails just
+ * doubles the cost of a real regression. A test that passes on a later attempt is FLAKY.
+ */
+public final class RetryPolicy {
+
+    private static final LongAdder retried = new LongAdder();
+    private static final LongAdder recovered = new LongAdder();
+
+    private RetryPolicy() {}
+
+    /**
+     * @param attempts attempts made so far, including the one that just failed
+     */
+    public static boolean shouldRetry(ToolkitConfig config, String testId, int attempts, Throwable failure,
+                                      RunCollector collector) {
+        if (attempts > config.retries()) return false;
+        // Assumptions and a dying JVM are not flakiness
+        if (failure instanceof TestAbortedException || failure instanceof VirtualMachineError) return false;
+        // The environment is down; another attempt would only wait out another timeout
+        if (collector.blockedReason() != null) return false;
+        double score = FlakyHistory.score(testId, collector);
+        return score > 0 && score >= config.retryMinFlakiness();
+    }
+
+    public static void recordRetry() {
+        retried.increment();
+    }
+
+    public static void recordRecovered() {
+        recovered.increment();
+    }
+
+    public static String summary(ToolkitConfig config) {
+        return "Retries: max=" + config.retries()
+                + " minFlakiness=" + config.retryMinFlakiness()
+                + " retried=" + retried.sum()
+                + " recovered=" + recovered.sum();
+    }
+}
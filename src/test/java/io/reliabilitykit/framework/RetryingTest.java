@@ -0,0 +1,28 @@
+package io.reliabilitykit.framework;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use in place of {@code @Test} to let {@link RetryPolicy} retry the test. Each attempt is a
+ * separate invocation with its own test instance, {@code @BeforeEach}/{@code @AfterEach} and
+ * extension callbacks; a failed attempt that gets another one is reported as aborted.
+ *
+ * Attempts run one after another on the class's thread: under parallel execution the next
+ * attempt is only decided once the previous one has finished. That also keeps these methods from
+ * running concurrently with the rest of their class, so opt in tests known to be flaky only.
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@Execution(ExecutionMode.SAME_THREAD)
+@ExtendWith(PlaywrightExtension.class)
+public @interface RetryingTest {
+}
@@ -0,0 +1,70 @@
+package io.reliabilitykit.framework;
+
+import io.reliabilitykit.reporting.RunCollector;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides per test whether Playwright tracing is worth its cost, per {@link ToolkitConfig#tracingMode()}.
+ *
+ * Tracing with screenshots, snapshots and sources is the most expensive part of a green test,
+ * and its output is thrown away when the test passes. The overhead of traced tests (start +
+ * stop) is measured so skipped tests can report what they saved.
+ */
+public final class TracingPolicy {
+
+    private static final Set<String> failedThisRun = ConcurrentHashMap.newKeySet();
+
+    private static final LongAdder traced = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+    private static final LongAdder tracedOverheadNanos = new LongAdder();
+
+    private TracingPolicy() {}
+
+    public static boolean shouldTrace(ToolkitConfig config, String testId, RunCollector collector) {
+        return switch (config.tracingMode()) {
+            case OFF -> false;
+            case ALWAYS -> true;
+            // A test that already failed in this JVM is being retried (surefire rerun or repeated run)
+            case ON_FAILURE_RETRY -> failedThisRun.contains(testId);
+            case HISTORY_FLAKY -> FlakyHistory.isFlaky(testId, collector);
+        };
+    }
+
+    public static void recordFailure(String testId) {
+        failedThisRun.add(testId);
+    }
+
+    public static void recordTraced(long overheadNanos) {
+        traced.increment();
+        tracedOverheadNanos.add(overheadNanos);
+    }
+
+    public static void recordSkipped() {
+        skipped.increment();
+    }
+
+    /** Average start + stop cost of the tests traced so far in this run, or -1 if none were. */
+    public static long avgOverheadMs() {
+        long n = traced.sum();
+        return n == 0 ? -1 : tracedOverheadNanos.sum() / n / 1_000_000;
+    }
+
+    /** The mode as written in config, e.g. {@code history-flaky}. */
+    public static String label(ToolkitConfig config) {
+        return config.tracingMode().name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static String summary(ToolkitConfig config) {
+        long avg = avgOverheadMs();
+        long skippedCount = skipped.sum();
+        return "Tracing: mode=" + label(config)
+                + " traced=" + traced.sum()
+                + " skipped=" + skippedCount
+                + " avgOverheadMs=" + (avg < 0 ? "n/a" : avg)
+                + " estSavedMs=" + (avg < 0 ? "n/a" : avg * skippedCount);
+    }
+}
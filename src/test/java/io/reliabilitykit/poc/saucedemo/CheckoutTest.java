@@ -1,6 +1,7 @@
 package io.reliabilitykit.poc.saucedemo;
 
 import com.microsoft.playwright.Page;
+import io.reliabilitykit.framework.LoginWith;
 import io.reliabilitykit.framework.PlaywrightExtension;
 import io.reliabilitykit.framework.ToolkitConfig;
 import org.junit.jupiter.api.Tag;
@@ -12,16 +13,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Tag("poc")
 @Tag("saucedemo")
 @ExtendWith(PlaywrightExtension.class)
+@LoginWith(SauceDemoLogin.class)
 public class CheckoutTest {
 
     @Test
     void canCheckoutSingleItem(Page page) {
-        page.navigate(ToolkitConfig.load().baseUrl());
-
-        // Login
-        page.locator("#user-name").fill(SauceDemoConfig.user());
-        page.locator("#password").fill(SauceDemoConfig.pass());
-        page.locator("#login-button").click();
+        // Already logged in via the cached SauceDemoLogin state
+        page.navigate(ToolkitConfig.load().baseUrl() + "/inventory.html");
 
         // Add item
         page.locator("[data-test='add-to-cart-sauce-labs-backpack']").click();
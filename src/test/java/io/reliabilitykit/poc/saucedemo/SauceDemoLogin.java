@@ -0,0 +1,23 @@
+package io.reliabilitykit.poc.saucedemo;
+
+import com.microsoft.playwright.Page;
+import io.reliabilitykit.framework.LoginHook;
+import io.reliabilitykit.framework.ToolkitConfig;
+
+/** UI login for tests that only need to start authenticated; LoginTest still covers the flow itself. */
+public class SauceDemoLogin implements LoginHook {
+
+    @Override
+    public String user() {
+        return SauceDemoConfig.user();
+    }
+
+    @Override
+    public void login(Page page, ToolkitConfig config) {
+        page.navigate(config.baseUrl());
+        page.locator("#user-name").fill(SauceDemoConfig.user());
+        page.locator("#password").fill(SauceDemoConfig.pass());
+        page.locator("#login-button").click();
+        page.waitForURL("**/inventory.html");
+    }
+}
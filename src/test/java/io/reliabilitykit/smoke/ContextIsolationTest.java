@@ -0,0 +1,82 @@
+package io.reliabilitykit.smoke;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import io.reliabilitykit.framework.PlaywrightExtension;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * A pooled context must not hand one test's IndexedDB or Cache Storage to the next. The first
+ * test writes both on a routed origin, the second gets the same context back (same thread, so
+ * the same browser slot) and expects them gone. Skipped when the context was replaced instead,
+ * as on Firefox and WebKit.
+ */
+@ExtendWith(PlaywrightExtension.class)
+@Execution(ExecutionMode.SAME_THREAD)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ContextIsolationTest {
+
+    private static final String ORIGIN = "https://rk-isolation.test";
+
+    private static BrowserContext firstContext;
+
+    @Test
+    @Order(1)
+    void writesSiteData(Page page) {
+        open(page);
+        page.evaluate("""
+                async () => {
+                  await new Promise((resolve, reject) => {
+                    const req = indexedDB.open('rk-isolation', 1);
+                    req.onupgradeneeded = () => req.result.createObjectStore('s');
+                    req.onsuccess = () => { req.result.close(); resolve(); };
+                    req.onerror = () => reject(req.error);
+                  });
+                  await (await caches.open('rk-isolation')).put('/probe', new Response('x'));
+                }""");
+
+        assertThat(databases(page)).contains("rk-isolation");
+        assertThat(cacheNames(page)).contains("rk-isolation");
+        firstContext = page.context();
+    }
+
+    @Test
+    @Order(2)
+    void reusedContextStartsWithoutSiteData(Page page) {
+        assumeTrue(firstContext != null && page.context() == firstContext, "context was not reused");
+        open(page);
+
+        assertThat(databases(page)).doesNotContain("rk-isolation");
+        assertThat(cacheNames(page)).doesNotContain("rk-isolation");
+    }
+
+    // Served by a route, so the check needs no server and the origin is a secure context
+    private static void open(Page page) {
+        page.route(ORIGIN + "/**", route -> route.fulfill(new Route.FulfillOptions()
+                .setContentType("text/html")
+                .setBody("<!doctype html><title>isolation</title>")));
+        page.navigate(ORIGIN + "/");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> databases(Page page) {
+        return (List<Object>) page.evaluate("async () => (await indexedDB.databases()).map(d => d.name)");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> cacheNames(Page page) {
+        return (List<Object>) page.evaluate("async () => await caches.keys()");
+    }
+}